@@ -0,0 +1,64 @@
+package HangMan.bench;
+
+import java.io.IOException;
+import java.util.ArrayList;
+
+import application.Main.HangManPropertyType;
+import HangMan.file.HangManFileLoader;
+import properties_manager.PropertiesManager;
+import xml_utilities.InvalidXMLFileFormatException;
+
+/**
+ * BenchmarkData sets up the properties every benchmark needs, the same way
+ * Main does when the game starts. Note that the benchmarks must be run from
+ * the project directory so that the data directory can be found.
+ */
+public class BenchmarkData {
+	public static final String DATA_PATH = "./data/";
+	public static final String UI_PROPERTIES_FILE_NAME = "properties.xml";
+	public static final String PROPERTIES_SCHEMA_FILE_NAME = "properties_schema.xsd";
+
+	// THE WORD LISTS OF EACH LANGUAGE, FOR BENCHMARK PARAMETERS
+	public static final String EN_WORD_LIST = "EN_FiveLetterWordsList.txt";
+	public static final String FR_WORD_LIST = "FR_ListeCinqLetterWords.txt";
+	public static final String EO_WORD_LIST = "EO_KvinLeteroVortlisto.txt";
+
+	private static boolean loaded = false;
+
+	/**
+	 * Loads the application properties, only doing so the first time it is
+	 * called in each forked benchmark JVM.
+	 *
+	 * @throws InvalidXMLFileFormatException
+	 *             Thrown if the properties file is invalid.
+	 */
+	public static synchronized void loadProperties()
+			throws InvalidXMLFileFormatException {
+		if (loaded)
+			return;
+		PropertiesManager props = PropertiesManager.getPropertiesManager();
+		props.addProperty(HangManPropertyType.DATA_PATH, DATA_PATH);
+		props.addProperty(HangManPropertyType.PROPERTIES_SCHEMA_FILE_NAME,
+				PROPERTIES_SCHEMA_FILE_NAME);
+		props.loadProperties(UI_PROPERTIES_FILE_NAME,
+				PROPERTIES_SCHEMA_FILE_NAME);
+		loaded = true;
+	}
+
+	/**
+	 * Loads a word list the way the game does, in upper case.
+	 *
+	 * @param wordListFile
+	 *            The name of the word list in the data directory.
+	 * @return All its words, in upper case.
+	 * @throws IOException
+	 *             Thrown if the word list can't be loaded.
+	 */
+	public static ArrayList<String> loadUpperCaseWords(String wordListFile)
+			throws IOException {
+		ArrayList<String> words = HangManFileLoader.loadWordListFile(wordListFile);
+		for (int i = 0; i < words.size(); i++)
+			words.set(i, words.get(i).toUpperCase());
+		return words;
+	}
+}
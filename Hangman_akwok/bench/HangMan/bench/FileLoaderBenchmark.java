@@ -0,0 +1,54 @@
+package HangMan.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import HangMan.file.HangManFileLoader;
+
+/**
+ * Benchmarks for loading the game's HTML pages, both from disk and once they
+ * have been cached.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class FileLoaderBenchmark {
+	@Param({ "EN_Help.html", "EN_GameDisplay.html", "EN_StatsDisplay.html" })
+	public String textFile;
+
+	@Setup
+	public void setup() throws Exception {
+		BenchmarkData.loadProperties();
+	}
+
+	/**
+	 * Reading the page from disk, as the first load of each page does.
+	 */
+	@Benchmark
+	public String loadTextFile() throws Exception {
+		HangManFileLoader.clearTextFileCache();
+		return HangManFileLoader.loadTextFile(textFile);
+	}
+
+	/**
+	 * Getting the page once it has been read.
+	 */
+	@Benchmark
+	public String loadCachedTextFile() throws Exception {
+		return HangManFileLoader.loadTextFile(textFile);
+	}
+}
@@ -0,0 +1,126 @@
+package HangMan.bench;
+
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import HangMan.game.HangManGameData;
+import HangMan.game.HangManGameStateManager;
+
+/**
+ * Benchmarks for answering guesses in a single game, which is the work done
+ * on every letter button press.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class GameDataBenchmark {
+	// EVERY LETTER, IN THE ORDER A PLAYER WORKING THROUGH THE
+	// ALPHABET WOULD GUESS THEM
+	private static final String ALPHABET = "ABCDEFGHIJKLMNOPQRSTUVWXYZ";
+
+	// THE SAME LETTERS AS THE ONE LETTER STRINGS THE LETTER BUTTONS PASS
+	// ON, MADE AHEAD OF TIME SO THEY AREN'T COUNTED AS THE GAME'S GARBAGE
+	private String[] letters;
+
+	// SECRET WORDS TO PLAY, CYCLED THROUGH SO NO ONE WORD IS FAVORED
+	private String[] secretWords;
+	private int nextWord;
+
+	// A GAME TO ASK ABOUT GUESSES WITHOUT CHANGING IT
+	private HangManGameData game;
+
+	@Setup
+	public void setup() throws Exception {
+		BenchmarkData.loadProperties();
+		ArrayList<String> candidates = new ArrayList<String>();
+		for (String word : BenchmarkData
+				.loadUpperCaseWords(BenchmarkData.EN_WORD_LIST)) {
+			if (!HangManGameStateManager.hasRepeatingLetters(word))
+				candidates.add(word);
+		}
+		secretWords = candidates.toArray(new String[candidates.size()]);
+		nextWord = 0;
+		game = new HangManGameData(secretWords[0]);
+		letters = new String[ALPHABET.length()];
+		for (int i = 0; i < letters.length; i++)
+			letters[i] = ALPHABET.substring(i, i + 1);
+	}
+
+	/*
+	 * Gets the next secret word to play.
+	 */
+	private String nextSecretWord() {
+		String word = secretWords[nextWord];
+		nextWord = (nextWord + 1) % secretWords.length;
+		return word;
+	}
+
+	/**
+	 * A whole game, guessing every letter of the alphabet in turn the way
+	 * processGuess does, which includes building the game's letter masks,
+	 * keeping the history of guesses and making the new masked word String
+	 * after every hit.
+	 */
+	@Benchmark
+	public String guessWholeAlphabet() {
+		HangManGameData newGame = new HangManGameData(nextSecretWord());
+		String guessState = newGame.getNewGuess();
+		for (int i = 0; i < letters.length; i++)
+			guessState = newGame.guess(guessState, letters[i]);
+		return guessState;
+	}
+
+	/**
+	 * The same game through the letter version of guess, which leaves out
+	 * the history and the Strings.
+	 */
+	@Benchmark
+	public HangManGameData guessWholeAlphabetByLetter() {
+		HangManGameData newGame = new HangManGameData(nextSecretWord());
+		for (int i = 0; i < ALPHABET.length(); i++)
+			newGame.guess(ALPHABET.charAt(i));
+		return newGame;
+	}
+
+	/**
+	 * Just starting a game, to subtract from guessWholeAlphabet.
+	 */
+	@Benchmark
+	public HangManGameData newGame() {
+		return new HangManGameData(nextSecretWord());
+	}
+
+	/**
+	 * Asks whether each letter is in the secret word, as the letter buttons
+	 * do before a guess is processed.
+	 */
+	@Benchmark
+	public void isRightGuess(Blackhole bh) {
+		for (int i = 0; i < ALPHABET.length(); i++)
+			bh.consume(game.isRightGuess(ALPHABET.charAt(i)));
+	}
+
+	/**
+	 * The same, through the String version the event handler calls.
+	 */
+	@Benchmark
+	public void isRightGuessString(Blackhole bh) {
+		for (int i = 0; i < letters.length; i++)
+			bh.consume(game.isRightGuess(letters[i]));
+	}
+}
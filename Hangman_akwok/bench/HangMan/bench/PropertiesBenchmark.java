@@ -0,0 +1,90 @@
+package HangMan.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.w3c.dom.Document;
+
+import properties_manager.PropertiesBundle;
+import properties_manager.PropertiesManager;
+import xml_utilities.XMLUtilities;
+
+/**
+ * Benchmarks for loading a language's properties, through both the
+ * PropertiesManager and the XMLUtilities underneath it.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class PropertiesBenchmark {
+	@Param({ "EN.xml", "FR.xml", "EO.xml" })
+	public String languageFile;
+
+	private PropertiesManager props;
+	private XMLUtilities xmlUtil;
+	private String xmlFile;
+	private String xsdFile;
+
+	@Setup
+	public void setup() throws Exception {
+		BenchmarkData.loadProperties();
+		props = PropertiesManager.getPropertiesManager();
+		xmlUtil = new XMLUtilities();
+		xmlFile = BenchmarkData.DATA_PATH + languageFile;
+		xsdFile = BenchmarkData.DATA_PATH
+				+ BenchmarkData.PROPERTIES_SCHEMA_FILE_NAME;
+	}
+
+	/**
+	 * Validating and parsing the language file from scratch.
+	 */
+	@Benchmark
+	public PropertiesBundle loadProperties() throws Exception {
+		props.clearBundleCache();
+		props.loadProperties(languageFile,
+				BenchmarkData.PROPERTIES_SCHEMA_FILE_NAME);
+		return props.getBundle();
+	}
+
+	/**
+	 * Parsing the language file from scratch without validating it.
+	 */
+	@Benchmark
+	public PropertiesBundle loadTrustedProperties() throws Exception {
+		props.clearBundleCache();
+		props.loadProperties(languageFile,
+				BenchmarkData.PROPERTIES_SCHEMA_FILE_NAME, false);
+		return props.getBundle();
+	}
+
+	/**
+	 * Loading a language file that has already been parsed once.
+	 */
+	@Benchmark
+	public PropertiesBundle loadCachedProperties() throws Exception {
+		props.loadProperties(languageFile,
+				BenchmarkData.PROPERTIES_SCHEMA_FILE_NAME);
+		return props.getBundle();
+	}
+
+	/**
+	 * Validating and parsing the language file into a DOM.
+	 */
+	@Benchmark
+	public Document loadXMLDocument() throws Exception {
+		return xmlUtil.loadXMLDocument(xmlFile, xsdFile);
+	}
+}
@@ -0,0 +1,126 @@
+package HangMan.bench;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import HangMan.file.HangManFileLoader;
+import HangMan.game.HangManCandidateIndex;
+import HangMan.game.HangManGameData;
+import HangMan.game.HangManGameStateManager;
+import HangMan.game.HangManSolver;
+
+/**
+ * Benchmarks for loading each language's dictionary, from reading the word
+ * list to picking out the secret word candidates and indexing it for queries.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class WordListBenchmark {
+	// THE LETTERS EVERY LANGUAGE HAS BUTTONS FOR
+	private static final String ALPHABET = "ABCDEFGHIJKLMNOPQRSTUVWXYZ";
+
+	@Param({ BenchmarkData.EN_WORD_LIST, BenchmarkData.FR_WORD_LIST,
+			BenchmarkData.EO_WORD_LIST })
+	public String wordListFile;
+
+	// THE WORD LIST AS READ FROM THE FILE, AND IN UPPER CASE
+	private List<String> words;
+	private List<String> upperCaseWords;
+
+	// THE SECRET WORD CANDIDATES, AND THE SAME WORDS INDEXED BY LETTER
+	// AND POSITION
+	private List<String> candidateWords;
+	private HangManCandidateIndex candidateIndex;
+
+	// A SOLVER OVER THE INDEX, AND A GAME TWO GUESSES IN FOR IT TO QUERY
+	private HangManSolver solver;
+	private HangManGameData game;
+
+	@Setup
+	public void setup() throws Exception {
+		BenchmarkData.loadProperties();
+		words = HangManFileLoader.loadWordListFile(wordListFile);
+		upperCaseWords = BenchmarkData.loadUpperCaseWords(wordListFile);
+		candidateWords = new ArrayList<String>();
+		for (String word : upperCaseWords) {
+			if (!HangManGameStateManager.hasRepeatingLetters(word))
+				candidateWords.add(word);
+		}
+		candidateIndex = new HangManCandidateIndex(candidateWords);
+		solver = new HangManSolver(candidateIndex, ALPHABET);
+
+		// REVEAL THE SECOND LETTER OF THE FIRST CANDIDATE AND MISS
+		// WITH THE FIRST LETTER IT DOESN'T HAVE
+		String secretWord = candidateWords.get(0);
+		game = new HangManGameData(secretWord);
+		game.guess(secretWord.charAt(1));
+		for (int i = 0; i < ALPHABET.length(); i++) {
+			if (secretWord.indexOf(ALPHABET.charAt(i)) < 0) {
+				game.guess(ALPHABET.charAt(i));
+				break;
+			}
+		}
+	}
+
+	/**
+	 * Reading and splitting the word list file.
+	 */
+	@Benchmark
+	public ArrayList<String> loadWordListFile() throws Exception {
+		return HangManFileLoader.loadWordListFile(wordListFile);
+	}
+
+	/**
+	 * Preparing the dictionary from words already read.
+	 */
+	@Benchmark
+	public HangManGameStateManager loadWordList() {
+		HangManGameStateManager gsm = new HangManGameStateManager();
+		gsm.loadWordList(words);
+		return gsm;
+	}
+
+	/**
+	 * Checking every word for repeating letters.
+	 */
+	@Benchmark
+	public void hasRepeatingLetters(Blackhole bh) {
+		for (String word : upperCaseWords)
+			bh.consume(HangManGameStateManager.hasRepeatingLetters(word));
+	}
+
+	/**
+	 * Indexing every candidate by letter and position.
+	 */
+	@Benchmark
+	public HangManCandidateIndex buildCandidateIndex() {
+		return new HangManCandidateIndex(candidateWords);
+	}
+
+	/**
+	 * Finding the candidates that fit a game two guesses in, with one letter
+	 * revealed and one wrong.
+	 */
+	@Benchmark
+	public int[] findCandidates() {
+		return solver.findCandidates(game);
+	}
+}
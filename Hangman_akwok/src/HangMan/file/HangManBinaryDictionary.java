@@ -0,0 +1,309 @@
+package HangMan.file;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32;
+
+import application.Main.HangManPropertyType;
+import HangMan.game.HangManDictionary;
+import HangMan.metrics.HangManFileLoadedEvent;
+import HangMan.metrics.HangManHistogram;
+import HangMan.metrics.HangManMetrics;
+import properties_manager.PropertiesManager;
+
+/**
+ * HangManBinaryDictionary is a word list that has already been prepared for
+ * play by the HangManDictionaryCompiler. The file holds every word in upper
+ * case, packed together, along with the index of each distinct word without
+ * repeating letters, so loading it is a single sequential read with no
+ * per-word work beyond building the Strings. It also records the size and
+ * modification time of the text word list it was compiled from, so a compiled
+ * dictionary left behind after its word list is edited is never used.
+ *
+ * The file layout, all big-endian, is:
+ *
+ * magic, version, word count, candidate count, letter bytes length, text word
+ * list length, text word list modification time, CRC32 of everything that
+ * follows the header; then the word offsets (word count + 1 of them) into the
+ * letter bytes, the candidate word indices, and finally the UTF-8 letter
+ * bytes themselves.
+ */
+public class HangManBinaryDictionary {
+	// IDENTIFIES OUR FILES AND THE VERSION OF THE LAYOUT ABOVE. VERSION 2
+	// FILES NEVER LIST THE SAME CANDIDATE TWICE, SO OLDER ONES, WHICH MAY,
+	// ARE REJECTED AND THE TEXT WORD LIST IS LOADED INSTEAD. VERSION 3
+	// DROPPED THE LETTER MASKS AND ADDED THE TEXT WORD LIST'S DETAILS
+	public static final int MAGIC = 0x484D4431; // "HMD1"
+	public static final int VERSION = 3;
+
+	// COMPILED DICTIONARIES SIT BESIDE THEIR TEXT FILES WITH THIS EXTENSION
+	public static final String TEXT_EXTENSION = ".txt";
+	public static final String BINARY_EXTENSION = ".hmd";
+
+	// MAGIC, VERSION, THREE COUNTS, THE TEXT WORD LIST'S LENGTH AND
+	// MODIFICATION TIME, AND THE CHECKSUM
+	static final int HEADER_SIZE = 5 * 4 + 3 * 8;
+
+	// HOW LONG LOADING EACH WORD LIST TAKES, WHICHEVER FILE IT COMES FROM
+	private static final HangManHistogram DICTIONARY_LOAD_LATENCY = HangManMetrics
+			.getMetrics().histogram(HangManMetrics.DICTIONARY_LOAD_LATENCY);
+
+	// THE LOADED WORDS AND THE SECRET WORD CANDIDATES
+	private ArrayList<String> words;
+	private ArrayList<String> candidateWords;
+
+	private HangManBinaryDictionary(ArrayList<String> initWords,
+			ArrayList<String> initCandidateWords) {
+		words = initWords;
+		candidateWords = initCandidateWords;
+	}
+
+	/**
+	 * Accessor method for all the words in the dictionary, in upper case.
+	 *
+	 * @return Every word, in the order of the original word list.
+	 */
+	public ArrayList<String> getWords() {
+		return words;
+	}
+
+	/**
+	 * Accessor method for the words without repeating letters, which are the
+	 * candidates for secret words.
+	 *
+	 * @return The candidate words, in the order of the original word list.
+	 */
+	public ArrayList<String> getCandidateWords() {
+		return candidateWords;
+	}
+
+	/**
+	 * Gets the name of the compiled dictionary that goes with a text word list.
+	 *
+	 * @param textFile
+	 *            The name of the text word list.
+	 * @return The name the compiled dictionary for it would have.
+	 */
+	public static String getBinaryFileName(String textFile) {
+		if (textFile.endsWith(TEXT_EXTENSION))
+			textFile = textFile.substring(0, textFile.length()
+					- TEXT_EXTENSION.length());
+		return textFile + BINARY_EXTENSION;
+	}
+
+	/**
+	 * Tests to see if a compiled dictionary file is in the data directory.
+	 *
+	 * @param binaryFile
+	 *            The name of the compiled dictionary. Note that the path will
+	 *            be added by this method.
+	 * @return true if the file exists, false otherwise.
+	 */
+	public static boolean exists(String binaryFile) {
+		PropertiesManager props = PropertiesManager.getPropertiesManager();
+		return new File(props.getProperty(HangManPropertyType.DATA_PATH)
+				+ binaryFile).isFile();
+	}
+
+	/**
+	 * Loads a word list into a dictionary, preferring its compiled dictionary
+	 * if there is one since that's already been prepared for play. If the
+	 * compiled dictionary is missing, damaged or older than the text word list
+	 * we quietly fall back to the text word list. Everything that loads a word
+	 * list for play goes through here, so they all follow the same rules.
+	 *
+	 * @param dictionary
+	 *            The dictionary to load the word list into.
+	 * @param wordListFile
+	 *            The name of the text word list. Note that the path will be
+	 *            added by this method.
+	 * @throws IOException
+	 *             Thrown if the text word list can't be loaded.
+	 */
+	public static void loadWordList(HangManDictionary dictionary,
+			String wordListFile) throws IOException {
+		long startNanos = System.nanoTime();
+		try {
+			String binaryFile = getBinaryFileName(wordListFile);
+			if (exists(binaryFile)) {
+				try {
+					HangManBinaryDictionary compiled = load(binaryFile,
+							wordListFile);
+					dictionary.loadWordList(compiled.getWords(),
+							compiled.getCandidateWords());
+					return;
+				} catch (IOException ioe) {
+					// THE TEXT WORD LIST BELOW IS ALWAYS RIGHT, SO THERE'S
+					// NOTHING TO REPORT
+				}
+			}
+			dictionary.loadWordList(HangManFileLoader
+					.loadWordListFile(wordListFile));
+		} finally {
+			DICTIONARY_LOAD_LATENCY.recordSince(startNanos);
+		}
+	}
+
+	/**
+	 * Loads a compiled dictionary from the data directory with one read,
+	 * verifying its header and checksum before using any of it, and making
+	 * sure it was compiled from the text word list as it is now.
+	 *
+	 * @param binaryFile
+	 *            The name of the compiled dictionary. Note that the path will
+	 *            be added by this method.
+	 * @param textFile
+	 *            The name of the text word list it was compiled from, also
+	 *            without the path. If that file is missing the compiled
+	 *            dictionary is all there is, so it's used as is.
+	 * @return The loaded dictionary.
+	 * @throws IOException
+	 *             Thrown if the file can't be read, isn't a valid compiled
+	 *             dictionary, or is out of date with its text word list.
+	 */
+	public static HangManBinaryDictionary load(String binaryFile,
+			String textFile) throws IOException {
+		PropertiesManager props = PropertiesManager.getPropertiesManager();
+		String dataPath = props.getProperty(HangManPropertyType.DATA_PATH);
+		binaryFile = dataPath + binaryFile;
+		File sourceFile = new File(dataPath + textFile);
+		HangManFileLoadedEvent event = new HangManFileLoadedEvent();
+		event.begin();
+
+		// READ THE WHOLE FILE IN ONE GO
+		ByteBuffer buffer;
+		try (FileChannel channel = FileChannel.open(Paths.get(binaryFile),
+				StandardOpenOption.READ)) {
+			long size = channel.size();
+			if (size < HEADER_SIZE || size > Integer.MAX_VALUE)
+				throw new IOException(binaryFile
+						+ " is not a compiled dictionary");
+			buffer = ByteBuffer.allocate((int) size);
+			while (buffer.hasRemaining()) {
+				if (channel.read(buffer) < 0)
+					throw new IOException(binaryFile + " is truncated");
+			}
+			buffer.flip();
+		}
+
+		// CHECK THE HEADER
+		int magic = buffer.getInt();
+		int version = buffer.getInt();
+		int wordCount = buffer.getInt();
+		int candidateCount = buffer.getInt();
+		int lettersLength = buffer.getInt();
+		long sourceLength = buffer.getLong();
+		long sourceLastModified = buffer.getLong();
+		long checksum = buffer.getLong();
+		if (magic != MAGIC || version != VERSION)
+			throw new IOException(binaryFile + " is not a compiled dictionary");
+		if (sourceFile.isFile()
+				&& (sourceFile.length() != sourceLength || sourceFile
+						.lastModified() != sourceLastModified))
+			throw new IOException(binaryFile + " is out of date with "
+					+ sourceFile);
+		long bodySize = 4L * (wordCount + 1) + 4L * candidateCount
+				+ lettersLength;
+		if (wordCount < 0 || candidateCount < 0 || lettersLength < 0
+				|| bodySize != buffer.remaining())
+			throw new IOException(binaryFile + " is truncated");
+		CRC32 crc = new CRC32();
+		crc.update(buffer.array(), HEADER_SIZE, buffer.remaining());
+		if (crc.getValue() != checksum)
+			throw new IOException(binaryFile + " fails its checksum");
+
+		// NOW PULL OUT EACH SECTION
+		int[] offsets = new int[wordCount + 1];
+		buffer.asIntBuffer().get(offsets);
+		buffer.position(buffer.position() + 4 * offsets.length);
+		int[] candidates = new int[candidateCount];
+		buffer.asIntBuffer().get(candidates);
+		buffer.position(buffer.position() + 4 * candidates.length);
+		int lettersStart = buffer.position();
+
+		// AND BUILD THE WORDS STRAIGHT FROM THE PACKED LETTERS
+		byte[] data = buffer.array();
+		ArrayList<String> words = new ArrayList<String>(wordCount);
+		for (int i = 0; i < wordCount; i++) {
+			int start = offsets[i];
+			int end = offsets[i + 1];
+			if (start < 0 || end < start || end > lettersLength)
+				throw new IOException(binaryFile + " has a bad word offset");
+			words.add(new String(data, lettersStart + start, end - start,
+					StandardCharsets.UTF_8));
+		}
+		ArrayList<String> candidateWords = new ArrayList<String>(candidateCount);
+		for (int i = 0; i < candidateCount; i++) {
+			if (candidates[i] < 0 || candidates[i] >= wordCount)
+				throw new IOException(binaryFile + " has a bad candidate index");
+			candidateWords.add(words.get(candidates[i]));
+		}
+		event.commitFile(binaryFile, data.length);
+		return new HangManBinaryDictionary(words, candidateWords);
+	}
+
+	/**
+	 * Writes a compiled dictionary. Note that the words are expected to
+	 * already be in upper case, and the candidates to have been computed from
+	 * them.
+	 *
+	 * @param outputFile
+	 *            The file to write, including its path.
+	 * @param words
+	 *            All the words in the dictionary.
+	 * @param candidates
+	 *            The indices of the words that may be secret words.
+	 * @param sourceFile
+	 *            The text word list the words were read from.
+	 * @throws IOException
+	 *             Thrown if the file can't be written.
+	 */
+	static void write(File outputFile, List<String> words, int[] candidates,
+			File sourceFile) throws IOException {
+		// PACK THE LETTERS FIRST SO WE KNOW WHERE EACH WORD STARTS
+		int[] offsets = new int[words.size() + 1];
+		byte[][] encoded = new byte[words.size()][];
+		int lettersLength = 0;
+		for (int i = 0; i < words.size(); i++) {
+			encoded[i] = words.get(i).getBytes(StandardCharsets.UTF_8);
+			offsets[i] = lettersLength;
+			lettersLength += encoded[i].length;
+		}
+		offsets[words.size()] = lettersLength;
+
+		ByteBuffer body = ByteBuffer.allocate(4 * offsets.length + 4
+				* candidates.length + lettersLength);
+		body.asIntBuffer().put(offsets);
+		body.position(body.position() + 4 * offsets.length);
+		body.asIntBuffer().put(candidates);
+		body.position(body.position() + 4 * candidates.length);
+		for (byte[] word : encoded)
+			body.put(word);
+
+		CRC32 crc = new CRC32();
+		crc.update(body.array(), 0, body.capacity());
+
+		try (DataOutputStream out = new DataOutputStream(
+				new BufferedOutputStream(new FileOutputStream(outputFile)))) {
+			out.writeInt(MAGIC);
+			out.writeInt(VERSION);
+			out.writeInt(words.size());
+			out.writeInt(candidates.length);
+			out.writeInt(lettersLength);
+			out.writeLong(sourceFile.length());
+			out.writeLong(sourceFile.lastModified());
+			out.writeLong(crc.getValue());
+			out.write(body.array(), 0, body.capacity());
+		}
+	}
+}
@@ -0,0 +1,74 @@
+package HangMan.file;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+
+import HangMan.game.HangManGameStateManager;
+
+/**
+ * HangManDictionaryCompiler is a command-line tool that converts text word
+ * lists, one word per line, into compiled HangManBinaryDictionary files. Each
+ * compiled file is written beside its text file, so data/EN_WordList.txt
+ * becomes data/EN_WordList.hmd, where the game will find and prefer it.
+ *
+ * Usage: java HangMan.file.HangManDictionaryCompiler data/*.txt
+ */
+public class HangManDictionaryCompiler {
+	public static void main(String[] args) {
+		if (args.length == 0) {
+			System.err.println("Usage: java "
+					+ HangManDictionaryCompiler.class.getName()
+					+ " wordList.txt...");
+			System.exit(1);
+		}
+		boolean failed = false;
+		for (String textFile : args) {
+			try {
+				File binaryFile = compile(new File(textFile));
+				System.out.println(textFile + " -> " + binaryFile);
+			} catch (IOException ioe) {
+				System.err.println(textFile + ": " + ioe.getMessage());
+				failed = true;
+			}
+		}
+		if (failed)
+			System.exit(1);
+	}
+
+	/**
+	 * Compiles a text word list into a binary dictionary written beside it.
+	 *
+	 * @param textFile
+	 *            The text word list, including its path.
+	 * @return The compiled dictionary file that was written.
+	 * @throws IOException
+	 *             Thrown if the word list can't be read or the dictionary
+	 *             can't be written.
+	 */
+	public static File compile(File textFile) throws IOException {
+		ArrayList<String> words = HangManFileLoader.mapWordList(textFile
+				.getPath());
+
+		// DO ALL THE WORK THE GAME WOULD OTHERWISE DO EACH TIME IT LOADS
+		int[] candidates = new int[words.size()];
+		int numCandidates = 0;
+		HashSet<String> candidateWords = new HashSet<String>();
+		for (int i = 0; i < words.size(); i++) {
+			String word = words.get(i).toUpperCase();
+			words.set(i, word);
+			if (!HangManGameStateManager.hasRepeatingLetters(word)
+					&& candidateWords.add(word))
+				candidates[numCandidates++] = i;
+		}
+		int[] candidateIndices = new int[numCandidates];
+		System.arraycopy(candidates, 0, candidateIndices, 0, numCandidates);
+
+		File binaryFile = new File(textFile.getParentFile(),
+				HangManBinaryDictionary.getBinaryFileName(textFile.getName()));
+		HangManBinaryDictionary.write(binaryFile, words, candidateIndices,
+				textFile);
+		return binaryFile;
+	}
+}
@@ -1,17 +1,40 @@
 package HangMan.file;
 
 import java.io.BufferedReader;
+import java.io.File;
 import java.io.FileReader;
 import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.concurrent.ConcurrentHashMap;
 
 import application.Main.HangManPropertyType;
+import HangMan.metrics.HangManFileLoadedEvent;
+import HangMan.metrics.HangManHistogram;
+import HangMan.metrics.HangManMetrics;
+import properties_manager.PropertiesBundle;
 import properties_manager.PropertiesManager;
-import HangMan.ui.HangManUI;
+import xml_utilities.InvalidXMLFileFormatException;
 
 public class HangManFileLoader {
+   // EVERY TEXT FILE LOADED SO FAR, BY PATH, ALONG WITH WHEN IT WAS LAST
+   // MODIFIED SO AN EDITED FILE IS READ AGAIN. ONLY THE GAME'S OWN PAGES
+   // ARE LOADED THIS WAY, SO THERE ARE NEVER MORE THAN A FEW PER LANGUAGE
+   private static ConcurrentHashMap<String, CachedText> textFiles = new ConcurrentHashMap<String, CachedText>();
+
+   // HOW LONG LOADING EACH PROPERTIES FILE TAKES
+   private static final HangManHistogram PROPERTIES_LOAD_LATENCY = HangManMetrics
+           .getMetrics().histogram(HangManMetrics.PROPERTIES_LOAD_LATENCY);
+
 	/**
     * This method loads the complete contents of the textFile argument into
-    * a String and returns it.
+    * a String and returns it. Each file is only read from disk the first
+    * time it is loaded, or again once it has been modified, so files loaded
+    * ahead of time are returned at once.
     * 
     * @param textFile The name of the text file to load. Note that the path
     * will be added by this method.
@@ -27,25 +50,232 @@ public class HangManFileLoader {
        PropertiesManager props = PropertiesManager.getPropertiesManager();
        textFile = props.getProperty(HangManPropertyType.DATA_PATH) + textFile;
        
-       // WE'LL ADD ALL THE CONTENTS OF THE TEXT FILE TO THIS STRING
-       String textToReturn = "";
+       // MAYBE WE'VE ALREADY READ IT, AND IT HASN'T CHANGED SINCE
+       File file = new File(textFile);
+       long lastModified = file.lastModified();
+       long length = file.length();
+       CachedText cached = textFiles.get(textFile);
+       if ((cached != null) && (cached.lastModified == lastModified)
+               && (cached.length == length))
+       {
+           return cached.text;
+       }
+       
+       HangManFileLoadedEvent event = new HangManFileLoadedEvent();
+       event.begin();
+       
+       // WE'LL ADD ALL THE CONTENTS OF THE TEXT FILE TO THIS BUILDER
+       StringBuilder textToReturn = new StringBuilder();
       
-       // OPEN A STREAM TO READ THE TEXT FILE
-       FileReader fr = new FileReader(textFile);
-       BufferedReader reader = new BufferedReader(fr);
-           
-       // READ THE FILE, ONE LINE OF TEXT AT A TIME
-       String inputLine = reader.readLine();
-       while (inputLine != null)
+       // OPEN A STREAM TO READ THE TEXT FILE, MAKING SURE IT GETS CLOSED
+       try (BufferedReader reader = new BufferedReader(new FileReader(textFile)))
+       {
+           // READ THE FILE, ONE LINE OF TEXT AT A TIME
+           String inputLine = reader.readLine();
+           while (inputLine != null)
+           {
+               // APPEND EACH LINE TO THE TEXT
+               textToReturn.append(inputLine).append('\n');
+               
+               // READ THE NEXT LINE
+               inputLine = reader.readLine();        
+           }
+       }
+       
+       // REMEMBER THE TEXT AND RETURN IT
+       String loadedText = textToReturn.toString();
+       textFiles.put(textFile, new CachedText(loadedText, lastModified, length));
+       event.commitFile(textFile);
+       return loadedText;
+   }
+   
+   /**
+    * Forgets every text file loaded so far, so that each will be read from
+    * disk again the next time it is loaded, for example to free the memory
+    * of pages no longer needed. Edited files are read again without this.
+    */
+   public static void clearTextFileCache()
+   {
+       textFiles.clear();
+   }
+   
+   /**
+    * This method loads a properties file into the properties manager,
+    * timing it and recording it as a loaded file if it had to be read
+    * from disk.
+    * 
+    * @param propertiesFile The name of the properties file to load. Note
+    * that the path will be added by the properties manager.
+    * 
+    * @param schemaFile The name of the schema the file must conform to.
+    * 
+    * @throws InvalidXMLFileFormatException This exception is thrown when
+    * the properties file is invalid.
+    */
+   public static void loadProperties(String propertiesFile, String schemaFile)
+           throws InvalidXMLFileFormatException
+   {
+       PropertiesManager props = PropertiesManager.getPropertiesManager();
+       long startNanos = System.nanoTime();
+       HangManFileLoadedEvent event = startPropertiesEvent(props, propertiesFile);
+       props.loadProperties(propertiesFile, schemaFile);
+       endPropertiesEvent(props, propertiesFile, event, startNanos);
+   }
+   
+   /**
+    * This method gets a language's bundle of properties, the same way
+    * loadProperties loads the application's, without changing the
+    * properties manager's own properties.
+    * 
+    * @param propertiesFile The name of the language's properties file. Note
+    * that the path will be added by the properties manager.
+    * 
+    * @param schemaFile The name of the schema the file must conform to.
+    * 
+    * @return The language's bundle.
+    * 
+    * @throws InvalidXMLFileFormatException This exception is thrown when
+    * the properties file is invalid.
+    */
+   public static PropertiesBundle loadLanguageBundle(String propertiesFile,
+           String schemaFile) throws InvalidXMLFileFormatException
+   {
+       PropertiesManager props = PropertiesManager.getPropertiesManager();
+       long startNanos = System.nanoTime();
+       HangManFileLoadedEvent event = startPropertiesEvent(props, propertiesFile);
+       PropertiesBundle bundle = props.getLanguageBundle(propertiesFile, schemaFile);
+       endPropertiesEvent(props, propertiesFile, event, startNanos);
+       return bundle;
+   }
+   
+   /*
+    * Starts the file event for a properties file about to be loaded, or
+    * returns null if the properties manager already has it and won't read
+    * it again.
+    */
+   private static HangManFileLoadedEvent startPropertiesEvent(
+           PropertiesManager props, String propertiesFile)
+   {
+       if (props.isFileLoaded(propertiesFile))
+       {
+           return null;
+       }
+       HangManFileLoadedEvent event = new HangManFileLoadedEvent();
+       event.begin();
+       return event;
+   }
+   
+   /*
+    * Records how long a properties file took to load, and commits its
+    * file event if it had one.
+    */
+   private static void endPropertiesEvent(PropertiesManager props,
+           String propertiesFile, HangManFileLoadedEvent event, long startNanos)
+   {
+       PROPERTIES_LOAD_LATENCY.recordSince(startNanos);
+       if (event != null)
+       {
+           event.commitFile(props.getProperty(HangManPropertyType.DATA_PATH)
+                   + propertiesFile);
+       }
+   }
+   
+   /**
+    * This method loads a word list, one word per line, by memory mapping
+    * the file and scanning it for newlines directly, so that no String
+    * of the whole file is ever built. Blank lines, carriage returns and
+    * a leading UTF-8 byte order mark are all skipped.
+    * 
+    * @param wordListFile The name of the word list file to load. Note that
+    * the path will be added by this method.
+    * 
+    * @return All the words in the file, in file order.
+    * 
+    * @throws IOException This exception is thrown when wordListFile is an
+    * invalid file or there is some problem in accessing the file.
+    */
+   public static ArrayList<String> loadWordListFile(String wordListFile) throws IOException
+   {
+       // ADD THE PATH TO THE FILE
+       PropertiesManager props = PropertiesManager.getPropertiesManager();
+       wordListFile = props.getProperty(HangManPropertyType.DATA_PATH) + wordListFile;
+       return mapWordList(wordListFile);
+   }
+   
+   /*
+    * Does the work of loadWordListFile for a file whose path has
+    * already been added.
+    */
+   static ArrayList<String> mapWordList(String wordListFile) throws IOException
+   {
+       HangManFileLoadedEvent event = new HangManFileLoadedEvent();
+       event.begin();
+       try (FileChannel channel = FileChannel.open(Paths.get(wordListFile), StandardOpenOption.READ))
        {
-           // APPEND EACH LINE TO THE STRING
-           textToReturn += inputLine + "\n";
+           long size = channel.size();
+           if (size > Integer.MAX_VALUE)
+               throw new IOException(wordListFile + " is too large to map");
+           MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+           ArrayList<String> words = scanWords(buffer, (int)size);
+           event.commitFile(wordListFile, size);
+           return words;
+       }
+   }
+   
+   /*
+    * Finds each line in the mapped file and decodes just its bytes into a
+    * word, reusing one small buffer for all of them.
+    */
+   private static ArrayList<String> scanWords(MappedByteBuffer buffer, int size)
+   {
+       // GUESS AT THE NUMBER OF WORDS SO THE LIST RARELY HAS TO GROW
+       ArrayList<String> words = new ArrayList<String>(size / 6 + 1);
+       byte[] wordBytes = new byte[32];
+       
+       // SKIP THE BYTE ORDER MARK IF THERE IS ONE
+       int lineStart = 0;
+       if (size >= 3 && (buffer.get(0) & 0xFF) == 0xEF
+               && (buffer.get(1) & 0xFF) == 0xBB && (buffer.get(2) & 0xFF) == 0xBF)
+           lineStart = 3;
+       
+       for (int i = lineStart; i <= size; i++)
+       {
+           if (i < size && buffer.get(i) != '\n')
+               continue;
            
-           // READ THE NEXT LINE
-           inputLine = reader.readLine();        
+           // WE'VE FOUND THE END OF A LINE, IGNORING ANY CARRIAGE RETURN
+           int lineEnd = i;
+           if (lineEnd > lineStart && buffer.get(lineEnd - 1) == '\r')
+               lineEnd--;
+           int length = lineEnd - lineStart;
+           if (length > 0)
+           {
+               if (length > wordBytes.length)
+                   wordBytes = new byte[length];
+               for (int j = 0; j < length; j++)
+                   wordBytes[j] = buffer.get(lineStart + j);
+               words.add(new String(wordBytes, 0, length, StandardCharsets.UTF_8));
+           }
+           lineStart = i + 1;
        }
+       return words;
+   }
+   
+   /*
+    * The text of a loaded file along with the modification time and length
+    * it had when it was read.
+    */
+   private static class CachedText
+   {
+       final String text;
+       final long lastModified;
+       final long length;
        
-       // RETURN THE TEXT
-       return textToReturn;
-   }    
+       CachedText(String initText, long initLastModified, long initLength)
+       {
+           text = initText;
+           lastModified = initLastModified;
+           length = initLength;
+       }
+   }
 }
@@ -0,0 +1,206 @@
+package HangMan.game;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.TreeSet;
+
+/**
+ * HangManCandidateIndex packs a dictionary's secret word candidates so that
+ * they can be grouped by how a guess would reveal them with a tight loop over
+ * primitive arrays. The words are ordered by length, and for each letter there
+ * is a column holding, for every word, the one position of that letter in the
+ * word or ABSENT. Note that candidates never repeat a letter, so a single
+ * position is all there can be. Columns 0 to 25 are always 'A' through 'Z',
+ * matching the bits of a game's letter masks, and every other letter the
+ * candidates use, like the accented letters of Esperanto or French, gets a
+ * column after those. An index never changes once built, so any number of
+ * games may share it.
+ */
+public class HangManCandidateIndex {
+	// THE POSITION GIVEN FOR A LETTER THAT ISN'T IN A WORD
+	public static final byte ABSENT = -1;
+
+	// WORDS LONGER THAN THIS CAN'T HAVE THEIR POSITIONS TRACKED
+	// BY A GAME, SO THEY AREN'T INDEXED
+	static final int MAX_WORD_LENGTH = Long.SIZE;
+
+	// THE MOST LETTERS THAT CAN HAVE COLUMNS, SO A SET OF THEM FITS IN A
+	// long. WORDS USING LETTERS BEYOND THESE AREN'T INDEXED
+	public static final int MAX_LETTERS = Long.SIZE;
+
+	// THE LETTER OF EACH COLUMN
+	private char[] letters;
+
+	// ALL THE INDEXED WORDS, SHORTEST FIRST
+	private String[] words;
+
+	// THE POSITION OF EACH LETTER IN EACH WORD, COLUMN BY COLUMN, SO
+	// THE LETTER OF COLUMN l IN WORD w IS AT [l * words.length + w]
+	byte[] letterPositions;
+
+	// THE WORDS OF EACH LENGTH RUN FROM lengthStarts[length]
+	// UP TO lengthStarts[length + 1]
+	private int[] lengthStarts;
+
+	/**
+	 * Builds the index for a dictionary's candidates.
+	 *
+	 * @param candidateWords
+	 *            The words that may be picked as secret words, in all caps,
+	 *            none of them repeating a letter.
+	 */
+	public HangManCandidateIndex(List<String> candidateWords) {
+		// GIVE A COLUMN TO 'A' THROUGH 'Z' AND THEN TO EVERY OTHER LETTER
+		// THE CANDIDATES USE, IN ORDER
+		TreeSet<Character> otherLetters = new TreeSet<Character>();
+		for (String word : candidateWords) {
+			for (int i = 0; i < word.length(); i++) {
+				if (HangManGameData.letterIndex(word.charAt(i)) < 0)
+					otherLetters.add(word.charAt(i));
+			}
+		}
+		letters = new char[Math.min(MAX_LETTERS, HangManGameData.ALPHABET_SIZE
+				+ otherLetters.size())];
+		for (int column = 0; column < HangManGameData.ALPHABET_SIZE; column++)
+			letters[column] = (char) ('A' + column);
+		int nextColumn = HangManGameData.ALPHABET_SIZE;
+		for (Character letter : otherLetters) {
+			if (nextColumn == letters.length)
+				break;
+			letters[nextColumn++] = letter;
+		}
+
+		// SORT THE WORDS BY LENGTH, COUNTING HOW MANY OF EACH THERE ARE
+		lengthStarts = new int[MAX_WORD_LENGTH + 2];
+		for (String word : candidateWords) {
+			if (isIndexable(word))
+				lengthStarts[word.length() + 1]++;
+		}
+		for (int length = 1; length < lengthStarts.length; length++)
+			lengthStarts[length] += lengthStarts[length - 1];
+		int numWords = lengthStarts[MAX_WORD_LENGTH + 1];
+		words = new String[numWords];
+		int[] nextSlot = Arrays.copyOf(lengthStarts, MAX_WORD_LENGTH + 1);
+		for (String word : candidateWords) {
+			if (isIndexable(word))
+				words[nextSlot[word.length()]++] = word;
+		}
+
+		// THEN FILL IN THE LETTER COLUMNS
+		letterPositions = new byte[letters.length * numWords];
+		Arrays.fill(letterPositions, ABSENT);
+		for (int w = 0; w < numWords; w++) {
+			String word = words[w];
+			for (int i = 0; i < word.length(); i++) {
+				int column = getLetterColumn(word.charAt(i));
+				letterPositions[column * numWords + w] = (byte) i;
+			}
+		}
+	}
+
+	/*
+	 * Tests to see if a word is short enough, and only uses letters with
+	 * columns, to be indexed.
+	 */
+	private boolean isIndexable(String word) {
+		if (word.length() > MAX_WORD_LENGTH)
+			return false;
+		for (int i = 0; i < word.length(); i++) {
+			if (getLetterColumn(word.charAt(i)) < 0)
+				return false;
+		}
+		return true;
+	}
+
+	/**
+	 * Accessor method for the number of letters with columns.
+	 *
+	 * @return The number of columns.
+	 */
+	public int getNumLetters() {
+		return letters.length;
+	}
+
+	/**
+	 * Accessor method for the letter of a column.
+	 *
+	 * @param column
+	 *            The column.
+	 * @return Its letter.
+	 */
+	public char getLetter(int column) {
+		return letters[column];
+	}
+
+	/**
+	 * Finds the column of a letter.
+	 *
+	 * @param letter
+	 *            The letter, in all caps.
+	 * @return The letter's column, which for 'A' through 'Z' is always the
+	 *         letter's bit in a game's letter masks, or -1 if no candidate has
+	 *         the letter.
+	 */
+	public int getLetterColumn(char letter) {
+		int letterIndex = HangManGameData.letterIndex(letter);
+		if (letterIndex >= 0)
+			return letterIndex;
+		for (int column = HangManGameData.ALPHABET_SIZE; column < letters.length; column++) {
+			if (letters[column] == letter)
+				return column;
+		}
+		return -1;
+	}
+
+	/**
+	 * Accessor method for the number of words indexed.
+	 *
+	 * @return The number of words.
+	 */
+	public int getNumWords() {
+		return words.length;
+	}
+
+	/**
+	 * Accessor method for one of the indexed words.
+	 *
+	 * @param word
+	 *            The word's number in this index.
+	 * @return The word.
+	 */
+	public String getWord(int word) {
+		return words[word];
+	}
+
+	/**
+	 * Finds the position of a letter in one of the indexed words.
+	 *
+	 * @param column
+	 *            The letter's column.
+	 * @param word
+	 *            The word's number in this index.
+	 * @return The letter's position in the word, or ABSENT.
+	 */
+	public int getLetterPosition(int column, int word) {
+		return letterPositions[column * words.length + word];
+	}
+
+	/**
+	 * Gets the numbers of all the indexed words of one length, for example as
+	 * the starting candidates of a game.
+	 *
+	 * @param length
+	 *            The length of the words wanted.
+	 * @return A new array of the words' numbers, in index order, which is
+	 *         empty if there are none.
+	 */
+	public int[] getWordsOfLength(int length) {
+		if (length < 0 || length > MAX_WORD_LENGTH)
+			return new int[0];
+		int start = lengthStarts[length];
+		int[] lengthWords = new int[lengthStarts[length + 1] - start];
+		for (int i = 0; i < lengthWords.length; i++)
+			lengthWords[i] = start + i;
+		return lengthWords;
+	}
+}
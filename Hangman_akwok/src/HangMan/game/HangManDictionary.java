@@ -0,0 +1,32 @@
+package HangMan.game;
+
+import java.util.List;
+
+/**
+ * HangManDictionary is anything a word list can be loaded into for play,
+ * either as the plain words of a text word list or as the words and secret
+ * word candidates of a compiled dictionary. A single HangManGameStateManager
+ * is one, as is a HangManSessionManager sharing its dictionary among all of
+ * its sessions, so that the same loader can fill either.
+ */
+public interface HangManDictionary {
+	/**
+	 * Initializes the dictionary from words that have already been
+	 * separated, working out the secret word candidates from them.
+	 *
+	 * @param words
+	 *            All the words to be loaded into the dictionary.
+	 */
+	public void loadWordList(List<String> words);
+
+	/**
+	 * Initializes the dictionary from words that have already been prepared.
+	 *
+	 * @param words
+	 *            All the words to be loaded into the dictionary, already in
+	 *            all caps.
+	 * @param candidateWords
+	 *            The words that are candidates to be secret words.
+	 */
+	public void loadWordList(List<String> words, List<String> candidateWords);
+}
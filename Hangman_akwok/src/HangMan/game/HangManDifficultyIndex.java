@@ -0,0 +1,275 @@
+package HangMan.game;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * HangManDifficultyIndex scores how hard each secret word candidate of a
+ * dictionary is to find, and sorts the candidates into difficulty bands so
+ * that a secret word of any band can be picked in constant time.
+ *
+ * A word's score is first how many wrong guesses the solver makes finding
+ * it, and then how rare its letters are among the candidates of its length.
+ * Rather than playing a game against every word, the solver's guesses are
+ * worked out for all of them at once: starting from every candidate of a
+ * length, it picks the letter it would guess, the candidates are split by
+ * where that letter would be revealed, and each part is worked on the same
+ * way, in parallel on a fork/join pool, until each word is found or lost.
+ * The solver only guesses the language's letter options, so the scores are
+ * for a player with the same buttons.
+ */
+public class HangManDifficultyIndex {
+	// THE BANDS OF DIFFICULTY, EACH A THIRD OF THE CANDIDATES
+	public enum HangManDifficulty {
+		ANY, EASY, MEDIUM, HARD
+	}
+
+	// THE WRONG GUESSES THAT LOSE A GAME
+	public static final int MAX_WRONG_GUESSES = 6;
+
+	// PARTS OF THE CANDIDATES SMALLER THAN THIS AREN'T WORTH FORKING
+	static final int CANDIDATES_PER_TASK = 256;
+
+	private HangManCandidateIndex index;
+	private HangManSolver solver;
+
+	// ONE BIT PER INDEX COLUMN FOR EACH LETTER THE PLAYER CAN GUESS
+	private long guessableColumns;
+
+	// THE WRONG GUESSES THE SOLVER MAKES FOR EACH CANDIDATE, AND ITS
+	// SCORE, INDEXED BY THE CANDIDATE'S NUMBER IN THE INDEX
+	private byte[] wrongGuesses;
+	private double[] scores;
+
+	// THE CANDIDATES OF EACH BAND, BY ORDINAL, EASIEST FIRST
+	private int[][] bands;
+
+	/**
+	 * Scores every candidate on the common fork/join pool.
+	 *
+	 * @param initIndex
+	 *            The packed candidates of the dictionary.
+	 * @param letterOptions
+	 *            The letters the player can guess, in all caps, or null for
+	 *            any letter of the candidates.
+	 */
+	public HangManDifficultyIndex(HangManCandidateIndex initIndex,
+			String letterOptions) {
+		this(initIndex, letterOptions, ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * Scores every candidate on a pool.
+	 *
+	 * @param initIndex
+	 *            The packed candidates of the dictionary.
+	 * @param letterOptions
+	 *            The letters the player can guess, in all caps, or null for
+	 *            any letter of the candidates.
+	 * @param pool
+	 *            The pool to score in.
+	 */
+	public HangManDifficultyIndex(HangManCandidateIndex initIndex,
+			String letterOptions, ForkJoinPool pool) {
+		index = initIndex;
+		solver = new HangManSolver(initIndex, letterOptions, pool);
+		guessableColumns = solver.getSuggestableColumns();
+		int numWords = index.getNumWords();
+		wrongGuesses = new byte[numWords];
+		scores = new double[numWords];
+
+		// PLAY OUT THE SOLVER FOR EACH LENGTH OF WORD
+		List<ScoreTask> tasks = new ArrayList<ScoreTask>();
+		for (int length = 1; length <= HangManCandidateIndex.MAX_WORD_LENGTH; length++) {
+			int[] words = index.getWordsOfLength(length);
+			if (words.length > 0)
+				tasks.add(new ScoreTask(words, length, 0, 0, 0));
+		}
+		pool.invoke(new RecursiveAction() {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected void compute() {
+				invokeAll(tasks);
+			}
+		});
+
+		// THEN ADD HOW RARE EACH WORD'S LETTERS ARE, WHICH IS ALWAYS LESS
+		// THAN ONE SO IT ONLY BREAKS TIES BETWEEN WRONG GUESSES, AND LOSE
+		// THE WORDS WITH LETTERS THAT CAN'T BE GUESSED
+		for (int length = 1; length <= HangManCandidateIndex.MAX_WORD_LENGTH; length++)
+			scoreRarity(index.getWordsOfLength(length));
+
+		// AND CUT THE CANDIDATES, EASIEST FIRST, INTO THIRDS
+		Integer[] sorted = new Integer[numWords];
+		for (int w = 0; w < numWords; w++)
+			sorted[w] = w;
+		Arrays.sort(sorted, (a, b) -> Double.compare(scores[a], scores[b]));
+		bands = new int[HangManDifficulty.values().length][];
+		bands[HangManDifficulty.ANY.ordinal()] = new int[numWords];
+		for (int w = 0; w < numWords; w++)
+			bands[HangManDifficulty.ANY.ordinal()][w] = sorted[w];
+		int[] all = bands[HangManDifficulty.ANY.ordinal()];
+		int numBands = bands.length - 1;
+		for (int band = 0; band < numBands; band++)
+			bands[band + 1] = Arrays.copyOfRange(all, band * numWords
+					/ numBands, (band + 1) * numWords / numBands);
+	}
+
+	/*
+	 * Scores how rare the letters of each word of one length are, as the share
+	 * of the length's candidates that don't have them on average. Note that a
+	 * word with a letter the player has no option for can never be found, so
+	 * the solver always loses it.
+	 */
+	private void scoreRarity(int[] words) {
+		if (words.length == 0)
+			return;
+		int[] letterCounts = new int[index.getNumLetters()];
+		for (int letter = 0; letter < letterCounts.length; letter++) {
+			for (int word : words) {
+				if (index.getLetterPosition(letter, word) != HangManCandidateIndex.ABSENT)
+					letterCounts[letter]++;
+			}
+		}
+		for (int word : words) {
+			int numLetters = 0;
+			long letterTotal = 0;
+			boolean guessable = true;
+			for (int letter = 0; letter < letterCounts.length; letter++) {
+				if (index.getLetterPosition(letter, word) != HangManCandidateIndex.ABSENT) {
+					numLetters++;
+					letterTotal += letterCounts[letter];
+					guessable &= (guessableColumns & (1L << letter)) != 0;
+				}
+			}
+			if (!guessable)
+				wrongGuesses[word] = MAX_WRONG_GUESSES;
+			double commonness = (numLetters == 0) ? 1.0 : (double) letterTotal
+					/ numLetters / words.length;
+			scores[word] = wrongGuesses[word] + (1.0 - commonness) * 0.999;
+		}
+	}
+
+	/**
+	 * Accessor method for one of the candidates of a band, for picking from
+	 * it in some order of the caller's own, such as a
+	 * HangManSecretWordSequence.
+	 *
+	 * @param difficulty
+	 *            The band.
+	 * @param word
+	 *            The word's number in the band, easiest first.
+	 * @return The word.
+	 */
+	public String getWord(HangManDifficulty difficulty, int word) {
+		return index.getWord(bands[difficulty.ordinal()][word]);
+	}
+
+	/**
+	 * Accessor method for the number of candidates in a band.
+	 *
+	 * @param difficulty
+	 *            The band.
+	 * @return How many candidates it has.
+	 */
+	public int getNumWords(HangManDifficulty difficulty) {
+		return bands[difficulty.ordinal()].length;
+	}
+
+	/**
+	 * Accessor method for how many wrong guesses the solver makes finding a
+	 * candidate, which is MAX_WRONG_GUESSES if it loses.
+	 *
+	 * @param word
+	 *            The candidate's number in the candidate index.
+	 * @return The wrong guesses.
+	 */
+	public int getWrongGuesses(int word) {
+		return wrongGuesses[word];
+	}
+
+	/**
+	 * Accessor method for a candidate's difficulty score, the solver's wrong
+	 * guesses for it plus less than one for how rare its letters are.
+	 *
+	 * @param word
+	 *            The candidate's number in the candidate index.
+	 * @return The score, higher being harder.
+	 */
+	public double getScore(int word) {
+		return scores[word];
+	}
+
+	/*
+	 * Plays the solver's next guess against a part of the candidates that all
+	 * look the same to it so far, then does the same for each part that guess
+	 * splits them into.
+	 */
+	private class ScoreTask extends RecursiveAction {
+		private static final long serialVersionUID = 1L;
+
+		private int[] words;
+		private int wordLength;
+		private long guessedMask;
+		private int revealed;
+		private int wrong;
+
+		ScoreTask(int[] initWords, int initWordLength, long initGuessedMask,
+				int initRevealed, int initWrong) {
+			words = initWords;
+			wordLength = initWordLength;
+			guessedMask = initGuessedMask;
+			revealed = initRevealed;
+			wrong = initWrong;
+		}
+
+		@Override
+		protected void compute() {
+			// THE GAME IS OVER ONCE THE WORD IS FOUND OR THE GUESSES RUN OUT,
+			// AND ONCE ONLY ONE WORD FITS THE SOLVER MAKES NO MORE MISTAKES
+			long unguessed = guessableColumns & ~guessedMask;
+			if (wrong >= MAX_WRONG_GUESSES || revealed == wordLength
+					|| words.length == 1 || unguessed == 0) {
+				for (int word : words)
+					wrongGuesses[word] = (byte) wrong;
+				return;
+			}
+
+			// SPLIT THE WORDS BY WHERE THE SOLVER'S GUESS IS REVEALED,
+			// WITH THOSE WITHOUT IT FIRST
+			int letter = solver.bestLetter(words, wordLength, unguessed,
+					HangManSolver.HangManSolverGoal.MOST_INFORMATION);
+			int[] groupSizes = new int[wordLength + 1];
+			for (int word : words)
+				groupSizes[index.getLetterPosition(letter, word) + 1]++;
+			int[][] groups = new int[groupSizes.length][];
+			for (int group = 0; group < groups.length; group++)
+				groups[group] = new int[groupSizes[group]];
+			int[] nextSlot = new int[groupSizes.length];
+			for (int word : words) {
+				int group = index.getLetterPosition(letter, word) + 1;
+				groups[group][nextSlot[group]++] = word;
+			}
+
+			List<ScoreTask> forked = new ArrayList<ScoreTask>();
+			long nextGuessedMask = guessedMask | (1L << letter);
+			for (int group = 0; group < groups.length; group++) {
+				if (groups[group].length == 0)
+					continue;
+				ScoreTask task = (group == 0) ? new ScoreTask(groups[group],
+						wordLength, nextGuessedMask, revealed, wrong + 1)
+						: new ScoreTask(groups[group], wordLength,
+								nextGuessedMask, revealed + 1, wrong);
+				if (groups[group].length >= CANDIDATES_PER_TASK)
+					forked.add(task);
+				else
+					task.compute();
+			}
+			invokeAll(forked);
+		}
+	}
+}
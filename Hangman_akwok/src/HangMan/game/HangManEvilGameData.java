@@ -0,0 +1,150 @@
+package HangMan.game;
+
+import java.util.Arrays;
+
+/**
+ * HangManEvilGameData is a game whose secret word isn't picked when the game
+ * starts. Instead it keeps every candidate word that fits the guesses made so
+ * far and, for each new letter guessed, splits them by where that letter would
+ * be revealed and keeps whichever group is largest, preferring a miss when
+ * there's a tie. The secret word is always just one of the remaining
+ * candidates, all of which look the same to the player, so everything else
+ * about the game works exactly as for a HangManGameData. Every letter with a
+ * column in the index narrows the candidates, not just 'A' through 'Z', and a
+ * letter without one is in none of them, so it is simply a miss.
+ */
+public class HangManEvilGameData extends HangManGameData {
+	// THE PACKED CANDIDATES OF THE DICTIONARY
+	private HangManCandidateIndex index;
+
+	// THE CANDIDATES STILL IN PLAY ARE THE FIRST numCandidates OF THESE
+	private int[] candidates;
+	private int numCandidates;
+
+	// HOW MANY CANDIDATES WOULD REVEAL THE LETTER AT EACH POSITION, WITH
+	// THOSE THAT WOULDN'T REVEAL IT AT ALL FIRST, REUSED FOR EVERY GUESS
+	private int[] groupSizes;
+
+	// ONE BIT PER INDEX COLUMN FOR EVERY LETTER GUESSED SO FAR
+	private long guessedColumns;
+
+	// THE GROUP PICKED FOR A LETTER NOT YET GUESSED, SO THAT ASKING
+	// ABOUT A LETTER AND THEN GUESSING IT ONLY SPLITS THE CANDIDATES ONCE
+	private int pickedColumn;
+	private int pickedPosition;
+
+	/**
+	 * Constructor for a game that may end up with any of the candidates as its
+	 * secret word.
+	 *
+	 * @param initIndex
+	 *            The dictionary's packed candidates.
+	 * @param initCandidates
+	 *            The numbers of the candidates in the index, all of the same
+	 *            length and at least one of them. Note that the game takes
+	 *            this array over and changes it.
+	 */
+	public HangManEvilGameData(HangManCandidateIndex initIndex,
+			int[] initCandidates) {
+		super(initIndex.getWord(initCandidates[0]));
+		index = initIndex;
+		candidates = initCandidates;
+		numCandidates = initCandidates.length;
+		groupSizes = new int[secretWord.length() + 1];
+		pickedColumn = -1;
+	}
+
+	/**
+	 * Accessor method for the number of words that could still be the secret
+	 * word.
+	 *
+	 * @return The number of candidates still in play.
+	 */
+	public int getNumCandidates() {
+		return numCandidates;
+	}
+
+	/**
+	 * Narrows the candidates down to the largest group for the letter, then
+	 * guesses it against the secret word that's left.
+	 */
+	@Override
+	public boolean guess(char letter) {
+		int column = index.getLetterColumn(letter);
+		if (!wordFound && isNewLetter(column))
+			narrowCandidates(column);
+		return super.guess(letter);
+	}
+
+	/**
+	 * Tests to see if the letter will be revealed when it is guessed, which
+	 * for a new letter depends on which group of candidates it would keep.
+	 */
+	@Override
+	public boolean isRightGuess(char letter) {
+		int column = index.getLetterColumn(letter);
+		if (wordFound || !isNewLetter(column))
+			return super.isRightGuess(letter);
+		return pickPosition(column) != HangManCandidateIndex.ABSENT;
+	}
+
+	/*
+	 * Tests to see if the letter of a column is in some candidate and hasn't
+	 * been guessed yet.
+	 */
+	private boolean isNewLetter(int column) {
+		return (column >= 0) && ((guessedColumns & (1L << column)) == 0);
+	}
+
+	/*
+	 * Splits the candidates by where they have the letter, counting each
+	 * group in one pass over the letter's column, and picks the largest.
+	 */
+	private int pickPosition(int letterColumn) {
+		if (letterColumn == pickedColumn)
+			return pickedPosition;
+
+		byte[] positions = index.letterPositions;
+		int column = letterColumn * index.getNumWords();
+		int[] sizes = groupSizes;
+		Arrays.fill(sizes, 0);
+		for (int i = 0; i < numCandidates; i++)
+			sizes[positions[column + candidates[i]] + 1]++;
+
+		// THE MISSES ARE FIRST, SO THEY WIN ANY TIE
+		int largest = 0;
+		for (int group = 1; group < sizes.length; group++) {
+			if (sizes[group] > sizes[largest])
+				largest = group;
+		}
+		pickedColumn = letterColumn;
+		pickedPosition = largest - 1;
+		return pickedPosition;
+	}
+
+	/*
+	 * Keeps only the candidates in the letter's largest group, then makes
+	 * sure the secret word is one of them.
+	 */
+	private void narrowCandidates(int letterColumn) {
+		int position = pickPosition(letterColumn);
+		byte[] positions = index.letterPositions;
+		int column = letterColumn * index.getNumWords();
+
+		// THE SECRET WORD IS ALWAYS THE FIRST CANDIDATE, AND KEEPING THE
+		// CANDIDATES IN ORDER MEANS IT STAYS FIRST IF IT STAYS AT ALL
+		boolean secretWordKept = positions[column + candidates[0]] == position;
+		int kept = 0;
+		for (int i = 0; i < numCandidates; i++) {
+			int candidate = candidates[i];
+			if (positions[column + candidate] == position)
+				candidates[kept++] = candidate;
+		}
+		numCandidates = kept;
+		guessedColumns |= 1L << letterColumn;
+		pickedColumn = -1;
+
+		if (!secretWordKept)
+			changeSecretWord(index.getWord(candidates[0]));
+	}
+}
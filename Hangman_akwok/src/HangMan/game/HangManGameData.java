@@ -1,6 +1,7 @@
 package HangMan.game;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.GregorianCalendar;
 import java.util.Iterator;
 
@@ -14,6 +15,37 @@ public class HangManGameData {
 	String secretWord;
 	String newGuess = new String();
 	int wrongTimes = 0;
+
+	// CHARACTER USED FOR LETTERS THAT HAVE NOT BEEN REVEALED YET
+	static final char HIDDEN_LETTER = '_';
+
+	// NUMBER OF LETTERS WE TRACK WITH BITMASKS, 'A' THROUGH 'Z'
+	static final int ALPHABET_SIZE = 26;
+
+	// ONE BIT PER LETTER ('A' IS BIT 0) FOR EVERY LETTER IN THE SECRET WORD
+	int secretLetterMask;
+
+	// FOR EACH LETTER, ONE BIT PER POSITION IN THE SECRET WORD WHERE IT IS
+	// FOUND. THESE ARE ALL COMPUTED ONCE WHEN THE SECRET WORD IS SET
+	long[] letterPositions;
+
+	// POSITION BITS FOR THE WHOLE SECRET WORD AND FOR THE POSITIONS
+	// THE PLAYER HAS UNCOVERED SO FAR
+	long allPositions;
+	long revealedPositions;
+
+	// ONE BIT PER LETTER GUESSED SO FAR, AND THOSE GUESSES THAT WERE HITS
+	int guessedLetterMask;
+	int hitLetterMask;
+
+	// THE MASKED WORD IS ONLY REBUILT INTO THIS BUFFER WHEN IT IS ASKED
+	// FOR AND SOMETHING NEW HAS BEEN REVEALED SINCE IT WAS LAST BUILT
+	char[] maskedWordBuffer;
+	boolean maskedWordStale;
+
+	// THE SAME GOES FOR THE MASKED WORD AS A String, WHICH HAS ITS OWN FLAG
+	// SINCE THE BUFFER MAY BE REBUILT WITHOUT IT
+	boolean newGuessStale;
 	// WHEN FOUND, THE GAME IS OVER AND THE PLAYER WINS, BUT IF
 	// THE PLAYER GIVES UP THIS WELL REMAIN FALSE
 	boolean wordFound;
@@ -37,11 +69,85 @@ public class HangManGameData {
 	public HangManGameData(String initSecretWord) {
 		secretWord = initSecretWord;
 		wordFound = false;
+		initLetterMasks();
 		guesses = new ArrayList();
 		startTime = new GregorianCalendar();
 		endTime = null;
 	}
 
+	/*
+	 * Precomputes the letter presence mask and the per-letter position masks
+	 * for the secret word so that each guess can be answered without scanning
+	 * the word again.
+	 */
+	private void initLetterMasks() {
+		int length = secretWord.length();
+		letterPositions = new long[ALPHABET_SIZE];
+		allPositions = (length >= Long.SIZE) ? -1L : (1L << length) - 1;
+		revealedPositions = 0;
+		guessedLetterMask = 0;
+		hitLetterMask = 0;
+		initSecretMasks();
+		maskedWordBuffer = new char[length];
+		maskedWordStale = true;
+		newGuessStale = true;
+	}
+
+	/*
+	 * Computes the letter presence mask and the per-letter position masks
+	 * from the secret word.
+	 */
+	private void initSecretMasks() {
+		Arrays.fill(letterPositions, 0);
+		secretLetterMask = 0;
+		for (int i = 0; i < secretWord.length(); i++) {
+			int letterIndex = letterIndex(secretWord.charAt(i));
+			if (letterIndex >= 0) {
+				secretLetterMask |= 1 << letterIndex;
+				letterPositions[letterIndex] |= 1L << i;
+			}
+		}
+	}
+
+	/*
+	 * Swaps in a different secret word of the same length part way through
+	 * the game, keeping everything guessed and revealed so far. This is only
+	 * for games that don't settle on a secret word until the end, and the new
+	 * word must have the same letters at every revealed position.
+	 */
+	void changeSecretWord(String newSecretWord) {
+		secretWord = newSecretWord;
+		initSecretMasks();
+		maskedWordStale = true;
+		newGuessStale = true;
+	}
+
+	/*
+	 * Maps a letter to its bit in the letter masks, or -1 if it is not one of
+	 * the letters 'A' through 'Z'.
+	 */
+	static int letterIndex(char letter) {
+		int index = letter - 'A';
+		return (index >= 0 && index < ALPHABET_SIZE) ? index : -1;
+	}
+
+	/*
+	 * Gets the position bits for all the places letter appears in the secret
+	 * word. Letters outside 'A' through 'Z' are rare, so for those we simply
+	 * scan the word.
+	 */
+	private long positionsOf(char letter) {
+		int letterIndex = letterIndex(letter);
+		if (letterIndex >= 0)
+			return letterPositions[letterIndex];
+		long positions = 0;
+		for (int i = 0; i < secretWord.length() && i < Long.SIZE; i++) {
+			if (secretWord.charAt(i) == letter)
+				positions |= 1L << i;
+		}
+		return positions;
+	}
+
 	// ACCESSOR METHODS
 
 	/**
@@ -123,14 +229,104 @@ public class HangManGameData {
 	 * @return "______" or current guess state
 	 */
 	public String getNewGuess() {
-		if (newGuess.isEmpty()) {
-			for (int i = 0; i < secretWord.length(); i++) {
-				newGuess += "_";
-			}
+		if (newGuessStale) {
+			newGuess = new String(renderMaskedWord());
+			newGuessStale = false;
 		}
 		return newGuess;
 	}
 
+	/**
+	 * Renders the so-far-guessed word, with underlines for the letters not yet
+	 * found, into this game's reusable buffer. Note that the buffer is only
+	 * rebuilt if a letter has been revealed since the last time it was asked
+	 * for, and that it is shared, so callers should not hold on to it.
+	 * 
+	 * @return The buffer holding the so-far-guessed word.
+	 */
+	public char[] renderMaskedWord() {
+		if (maskedWordStale) {
+			for (int i = 0; i < maskedWordBuffer.length; i++) {
+				if (i < Long.SIZE && (revealedPositions & (1L << i)) != 0)
+					maskedWordBuffer[i] = secretWord.charAt(i);
+				else
+					maskedWordBuffer[i] = HIDDEN_LETTER;
+			}
+			maskedWordStale = false;
+		}
+		return maskedWordBuffer;
+	}
+
+	/**
+	 * Accessor method for the letters guessed so far this game.
+	 * 
+	 * @return One bit per guessed letter, with 'A' as bit 0.
+	 */
+	public int getGuessedLetterMask() {
+		return guessedLetterMask;
+	}
+
+	/**
+	 * Accessor method for the guessed letters that were in the secret word.
+	 * 
+	 * @return One bit per correctly guessed letter, with 'A' as bit 0.
+	 */
+	public int getHitLetterMask() {
+		return hitLetterMask;
+	}
+
+	/**
+	 * Accessor method for the positions in the secret word the player has
+	 * uncovered so far.
+	 * 
+	 * @return One bit per revealed position, with the first letter as bit 0.
+	 */
+	public long getRevealedPositions() {
+		return revealedPositions;
+	}
+
+	/**
+	 * This method tests the guess letter against the secret word using the
+	 * precomputed letter masks, records it, and updates the revealed letters,
+	 * the wrong guess count and whether the secret word has been found. Note
+	 * that no Strings are built here, use getNewGuess or renderMaskedWord to
+	 * get the so-far-guessed word.
+	 * 
+	 * @param letter
+	 *            The letter being guessed.
+	 * @return true if the guess revealed at least one new letter, false
+	 *         otherwise.
+	 */
+	public boolean guess(char letter) {
+		// NOTHING CHANGES ONCE THE WORD HAS BEEN FOUND
+		if (wordFound)
+			return false;
+
+		int letterIndex = letterIndex(letter);
+		if (letterIndex >= 0)
+			guessedLetterMask |= 1 << letterIndex;
+
+		long newPositions = positionsOf(letter) & ~revealedPositions;
+		if (newPositions == 0) {
+			// A MISS, OR A LETTER THAT WAS ALREADY REVEALED
+			wrongTimes++;
+			return false;
+		}
+
+		// UNCOVER THE NEW LETTERS
+		if (letterIndex >= 0)
+			hitLetterMask |= 1 << letterIndex;
+		revealedPositions |= newPositions;
+		maskedWordStale = true;
+		newGuessStale = true;
+
+		if ((revealedPositions & allPositions) == allPositions) {
+			wordFound = true;
+			endTime = new GregorianCalendar();
+		}
+		return true;
+	}
+
 	/**
 	 * This method tests the guess argument to see if it is in the secret word.
 	 * If it is, update the so-far-guessed string(with underlines) plus this
@@ -139,39 +335,17 @@ public class HangManGameData {
 	 * @param guess
 	 *            Word to test to see if it's in this game's secret word.
 	 * @param oldGuessMatch
-	 *            the old so-far-guessed string
+	 *            the old so-far-guessed string. Note that this game already
+	 *            tracks what has been revealed, so this is no longer needed.
 	 * @return guessMatch The new so-far-guessed string
 	 */
 	public String guess(String oldGuessMatch, String guess) {
-		String guessMatch = new String();
 		if (!isWordFound()) {
-			// ADD THE MISSES GUESS TO ARRAYLIST
+			// ADD THE GUESS TO ARRAYLIST
 			guesses.add(guess);
-			if (oldGuessMatch.isEmpty()) {
-				for (int i = 0; i < secretWord.length(); i++) {
-					oldGuessMatch += "_";
-				}
-			}
-			for (int i = 0; i < secretWord.length(); i++) {
-
-				if (secretWord.charAt(i) == guess.charAt(0)) {
-					guessMatch += guess;
-				} else if (oldGuessMatch.charAt(i) != '_') {
-					guessMatch += oldGuessMatch.charAt(i);
-				} else
-					guessMatch += "_";
-			}
-			newGuess = guessMatch;
+			guess(guess.charAt(0));
 		}
-
-		if (guessMatch.equals(secretWord)) {
-			wordFound = true;
-			endTime = new GregorianCalendar();
-		}
-		if (guessMatch.equals(oldGuessMatch)) {
-			wrongTimes++;
-		}
-		return guessMatch;
+		return getNewGuess();
 	}
 
 	/**
@@ -183,16 +357,22 @@ public class HangManGameData {
 	 * @return whether the guess letter hit or not
 	 */
 	public boolean isRightGuess(String guess) {
-		boolean rightGuess = false;
-		for (int i = 0; i < secretWord.length(); i++) {
-
-			if (secretWord.charAt(i) == guess.charAt(0)) {
-				rightGuess = true;
-				break;
-			}
+		return isRightGuess(guess.charAt(0));
+	}
 
-		}
-		return rightGuess;
+	/**
+	 * This method tests to see if the letter is in the secret word, using the
+	 * precomputed letter mask.
+	 * 
+	 * @param letter
+	 *            Letter to test.
+	 * @return whether the guess letter hit or not
+	 */
+	public boolean isRightGuess(char letter) {
+		int letterIndex = letterIndex(letter);
+		if (letterIndex >= 0)
+			return (secretLetterMask & (1 << letterIndex)) != 0;
+		return positionsOf(letter) != 0;
 	}
 
 	/**
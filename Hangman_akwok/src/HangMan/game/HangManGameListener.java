@@ -0,0 +1,49 @@
+package HangMan.game;
+
+/**
+ * HangManGameListener is notified by a HangManGameStateManager whenever the
+ * state of its game changes. The JavaFX user interface subscribes one of these
+ * to keep its screens current, while headless sessions may subscribe their own
+ * or none at all. Note that listeners are called on whatever thread is driving
+ * the game.
+ */
+public interface HangManGameListener {
+	/**
+	 * Called once a new game has been made and is ready to be played.
+	 *
+	 * @param newGame
+	 *            The game that was just started.
+	 */
+	public void gameStarted(HangManGameData newGame);
+
+	/**
+	 * Called after a guess has been recorded in the game in progress.
+	 *
+	 * @param game
+	 *            The game the guess was made in.
+	 * @param guess
+	 *            The letter that was guessed.
+	 * @param guessMatch
+	 *            The so-far-guessed word after the guess.
+	 */
+	public void guessProcessed(HangManGameData game, String guess,
+			String guessMatch);
+
+	/**
+	 * Called when the number of wrong guesses in the game in progress may have
+	 * changed, so the hangman can be redrawn.
+	 *
+	 * @param wrongTimes
+	 *            The number of wrong guesses made so far this game.
+	 */
+	public void wrongGuessesChanged(int wrongTimes);
+
+	/**
+	 * Called when a game has been won, lost or given up and added to the games
+	 * history.
+	 *
+	 * @param completedGame
+	 *            The game that just ended.
+	 */
+	public void gameCompleted(HangManGameData completedGame);
+}
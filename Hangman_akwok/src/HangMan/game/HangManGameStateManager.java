@@ -1,24 +1,43 @@
 package HangMan.game;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Iterator;
-
-import HangMan.ui.HangManUI;
-
-public class HangManGameStateManager {
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import HangMan.game.HangManDifficultyIndex.HangManDifficulty;
+import HangMan.metrics.HangManCounter;
+import HangMan.metrics.HangManGameOverEvent;
+import HangMan.metrics.HangManGameStartedEvent;
+import HangMan.metrics.HangManGuessEvent;
+import HangMan.metrics.HangManHistogram;
+import HangMan.metrics.HangManLanguageLoadedEvent;
+import HangMan.metrics.HangManMetrics;
+
+public class HangManGameStateManager implements HangManDictionary {
 	// THE GAME WILL ALWAYS BE IN
 	// ONE OF THESE THREE STATES
 	public enum HangManGameState {
 		GAME_NOT_STARTED, GAME_IN_PROGRESS, GAME_OVER
 	}
 
+	// THE SECRET WORD IS EITHER PICKED WHEN THE GAME STARTS, OR
+	// IN EVIL MODE DODGES THE PLAYER'S GUESSES UNTIL IT CAN'T
+	public enum HangManGameMode {
+		STANDARD, EVIL
+	}
+
 	// STORES THE CURRENT STATE OF THIS GAME
 	private HangManGameState currentGameState;
 
 	// WHEN THE STATE OF THE GAME CHANGES IT WILL NEED TO BE
-	// REFLECTED IN THE USER INTERFACE, SO THIS CLASS NEEDS
-	// A REFERENCE TO THE UI
-	private HangManUI ui;
+	// REFLECTED IN THE USER INTERFACE, IF THERE IS ONE, SO WE
+	// LET ANYONE INTERESTED SUBSCRIBE TO THESE CHANGES
+	private List<HangManGameListener> listeners;
 
 	// THIS IS THE DICTIONARY OF LEGAL GUESS WORDS
 	private ArrayList<String> wordList;
@@ -27,6 +46,39 @@ public class HangManGameStateManager {
 	// SO ARE CANDIDATES FOR SECRET WORDS
 	private ArrayList<String> nonRepeatingWordList;
 
+	// THE MANAGER THAT FIRST LOADED THE WORD LISTS, IF THEY WERE SHARED
+	// WITH US, WHICH BUILDS EVERYTHING BELOW FOR ALL ITS SHARERS
+	private HangManGameStateManager wordListSource;
+
+	// THE SAME CANDIDATES PACKED FOR EVIL GAMES, ONLY BUILT ONCE ONE
+	// IS PLAYED AND SHARED ALONG WITH THE WORD LISTS
+	private volatile HangManCandidateIndex candidateIndex;
+
+	// HOW HARD EACH CANDIDATE IS FOR A PLAYER WITH THE LETTER OPTIONS,
+	// FOR PICKING SECRET WORDS BY DIFFICULTY, ALSO ONLY BUILT ONCE NEEDED
+	// AND SHARED ALONG WITH THE WORD LISTS
+	private volatile HangManDifficultyIndex difficultyIndex;
+
+	// THE LETTERS THE PLAYER CAN GUESS, OR null FOR ANY LETTER OF THE
+	// WORDS, AND THE SOLVER THAT ONLY SUGGESTS THOSE, BUILT ONCE A HINT
+	// IS ASKED FOR AND SHARED ALONG WITH THE WORD LISTS
+	private String letterOptions;
+	private volatile HangManSolver solver;
+
+	// HOW NEW GAMES PICK THEIR SECRET WORDS
+	private HangManGameMode gameMode;
+
+	// AND HOW HARD THE WORDS THEY PICK ARE
+	private HangManDifficulty difficulty;
+
+	// THIS PLAYER'S OWN RANDOM NUMBERS, AND ITS ORDER OF THE SECRET WORDS
+	// SO NONE REPEATS UNTIL ALL HAVE BEEN PLAYED. THE ORDER IS FOR ONE
+	// POOL OF WORDS, EITHER A WORD LIST OR A DIFFICULTY INDEX'S BAND
+	private SplittableRandom random;
+	private HangManSecretWordSequence secretWordSequence;
+	private Object secretWordPool;
+	private HangManDifficulty secretWordDifficulty;
+
 	// THIS IS THE GAME CURRENTLY BEING PLAYED
 	private HangManGameData gameInProgress;
 
@@ -34,10 +86,42 @@ public class HangManGameStateManager {
 	// IN PROGRESS IS NOT ADDED UNTIL IT IS COMPLETED
 	private ArrayList<HangManGameData> gamesHistory;
 
+	// TRUE ONCE THE GAME IN PROGRESS HAS BEEN ADDED TO THE HISTORY, SO
+	// THAT WE NEVER HAVE TO SEARCH THE HISTORY FOR IT
+	private boolean gameInProgressRecorded;
+
+	// RUNNING STATS FOR ALL THE COMPLETED GAMES, UPDATED ONCE AS EACH
+	// GAME IS ADDED TO THE HISTORY SO THEY NEVER HAVE TO BE RECOUNTED
+	private int wins;
+	private int losses;
+	private HangManGameData fewestGuessesWin;
+	private HangManGameData fastestWin;
+	private long totalGuesses;
+	private long totalWinTime;
+
 	private final String NEWLINE_DELIMITER = "\n";
 
-	public HangManGameStateManager(HangManUI initUI) {
-		ui = initUI;
+	// WHAT EVERY MANAGER'S GAMES ADD UP TO, LOOKED UP ONCE SO THAT
+	// RECORDING THEM IS JUST AN INCREMENT
+	private static final HangManCounter GAMES_STARTED = HangManMetrics
+			.getMetrics().counter(HangManMetrics.GAMES_STARTED);
+	private static final HangManCounter GAMES_WON = HangManMetrics
+			.getMetrics().counter(HangManMetrics.GAMES_WON);
+	private static final HangManCounter GAMES_LOST = HangManMetrics
+			.getMetrics().counter(HangManMetrics.GAMES_LOST);
+	private static final HangManCounter GUESSES = HangManMetrics
+			.getMetrics().counter(HangManMetrics.GUESSES);
+	private static final HangManHistogram GUESS_LATENCY = HangManMetrics
+			.getMetrics().histogram(HangManMetrics.GUESS_LATENCY);
+	private static final HangManHistogram GAME_START_LATENCY = HangManMetrics
+			.getMetrics().histogram(HangManMetrics.GAME_START_LATENCY);
+
+	// DICTIONARIES AT LEAST THIS BIG ARE LOADED USING ALL THE CORES
+	static final int PARALLEL_LOAD_THRESHOLD = 20000;
+
+	public HangManGameStateManager() {
+		// NOBODY IS LISTENING YET
+		listeners = new CopyOnWriteArrayList<HangManGameListener>();
 
 		// WE HAVE NOT STARTED A GAME YET
 		currentGameState = HangManGameState.GAME_NOT_STARTED;
@@ -48,6 +132,31 @@ public class HangManGameStateManager {
 
 		// THE FIRST GAME HAS NOT BEEN STARTED YET
 		gameInProgress = null;
+		gameInProgressRecorded = false;
+		gameMode = HangManGameMode.STANDARD;
+		difficulty = HangManDifficulty.ANY;
+		random = new SplittableRandom();
+	}
+
+	/**
+	 * Subscribes the listener to all future changes in the state of this
+	 * manager's games.
+	 * 
+	 * @param listener
+	 *            The listener to notify, for example the user interface.
+	 */
+	public void addGameListener(HangManGameListener listener) {
+		listeners.add(listener);
+	}
+
+	/**
+	 * Unsubscribes a listener previously added with addGameListener.
+	 * 
+	 * @param listener
+	 *            The listener to stop notifying.
+	 */
+	public void removeGameListener(HangManGameListener listener) {
+		listeners.remove(listener);
 	}
 
 	// ACCESSOR METHODS
@@ -61,6 +170,48 @@ public class HangManGameStateManager {
 		return gameInProgress;
 	}
 
+	/**
+	 * Accessor method for how new games pick their secret words.
+	 * 
+	 * @return The mode new games are played in.
+	 */
+	public HangManGameMode getGameMode() {
+		return gameMode;
+	}
+
+	/**
+	 * Mutator method for how new games pick their secret words. Note that the
+	 * game in progress, if any, keeps the mode it was started in.
+	 * 
+	 * @param initGameMode
+	 *            The mode to play new games in.
+	 */
+	public void setGameMode(HangManGameMode initGameMode) {
+		gameMode = initGameMode;
+	}
+
+	/**
+	 * Accessor method for how hard the secret words of new games are.
+	 * 
+	 * @return The difficulty band new games pick from.
+	 */
+	public HangManDifficulty getDifficulty() {
+		return difficulty;
+	}
+
+	/**
+	 * Mutator method for how hard the secret words of new games are. Note
+	 * that the dictionary must be scored for a difficulty other than ANY,
+	 * which is best done ahead of time with getDifficultyIndex, otherwise the
+	 * first such game does it and the games after it share the scores.
+	 * 
+	 * @param initDifficulty
+	 *            The difficulty band to pick new secret words from.
+	 */
+	public void setDifficulty(HangManDifficulty initDifficulty) {
+		difficulty = initDifficulty;
+	}
+
 	/**
 	 * Accessor method for getting the number of games that have been played.
 	 * 
@@ -81,6 +232,22 @@ public class HangManGameStateManager {
 		return gamesHistory.iterator();
 	}
 
+	/**
+	 * Accessor method for getting some of the games that have been completed,
+	 * for example one page of them to display.
+	 * 
+	 * @param fromIndex
+	 *            The index of the first game to get, with the first game
+	 *            played being 0.
+	 * @param toIndex
+	 *            One past the index of the last game to get.
+	 * @return A copy of those games, in the order they were played.
+	 */
+	public List<HangManGameData> getGamesHistory(int fromIndex, int toIndex) {
+		return new ArrayList<HangManGameData>(gamesHistory.subList(fromIndex,
+				toIndex));
+	}
+
 	/**
 	 * Accessor method for testing to see if any games have been started yet.
 	 * 
@@ -110,132 +277,126 @@ public class HangManGameStateManager {
 	}
 	
 	/**
-     * Counts and returns the number of wins during this game session.
+     * Accessor method for the number of wins during this game session.
      * 
      * @return The number of games in that have been completed that
      * the player won.
      */
     public int getWins()
     {
-        // ITERATE THROUGH ALL THE COMPLETED GAMES
-        Iterator<HangManGameData> it = gamesHistory.iterator();
-        int wins = 0;
-        while(it.hasNext())
-        {
-            // GET THE NEXT GAME IN THE SEQUENCE
-            HangManGameData game = it.next();
-            
-            // IF IT ENDED IN A WIN, INC THE COUNTER
-            if (game.isWordFound())
-                wins++;
-        }
         return wins;
     }
     
     /**
-     * Counts and returns the number of losses during this game session.
+     * Accessor method for the number of losses during this game session.
      * 
      * @return The number of games in that have been completed that
      * the player lost.
      */
     public int getLosses()
     {
-        // ITERATE THROUGH ALL THE COMPLETED GAMES
-        Iterator<HangManGameData> it = gamesHistory.iterator();
-        int losses = 0;
-        while(it.hasNext())
-        {
-            // GET THE NEXT GAME IN THE SEQUENCE
-            HangManGameData game = it.next();
-
-            // IF IT ENDED IN A LOSS, INC THE COUNTER
-            if (!game.isWordFound())
-                losses++;
-        }
         return losses;
     }
     
     /**
-     * Finds the completed game that the player won that
+     * Accessor method for the completed game that the player won that
      * required the fewest guesses before correctly guessing
      * the secret word.
      * 
      * @return The completed game that the player won requiring
-     * the fewest guesses.
+     * the fewest guesses, or null if no game has been won.
      */
     public HangManGameData getFewestGuessesWin()
     {
-        // IF NO GAMES HAVE BEEN PLAYED, THERE IS
-        // NOTHING TO RETURN
-        if (gamesHistory.isEmpty())
-            return null;
-        
-        // NOTE THAT ALL THE GAMES PLAYED MAY BE LOSSES
-        HangManGameData fewest = null;
-        
-        // GO THROUGH ALL THE GAMES THAT HAVE BEEN PLAYED
-        Iterator<HangManGameData> it = gamesHistory.iterator();        
-        while(it.hasNext())
-        {
-            // GET THE NEXT GAME IN THE SEQUENCE
-            HangManGameData game = it.next();
-            
-            // WE ONLY CONSIDER GAMES THAT WERE WON
-            if (game.isWordFound())
-            {
-                // IF IT'S THE FIRST WIN FOUND, START OUT
-                // WITH IT AS THE FEWEST UNTIL WE FIND ONE BETTER
-                if (fewest == null)
-                    fewest = game;
-                // OTHERWISE IF IT TOOK THE FEWEST GUESSES THEN
-                // MAKE IT THE FEWEST           
-                else if (game.getNumGuesses() < fewest.getNumGuesses())
-                    fewest = game;
-            }
-        }
-        // RETURN THE GAME THAT TOOK THE FEWEST GUESSES
-        return fewest;        
+        return fewestGuessesWin;
     }
     
     /**
-     * Finds the completed game that the player won that
+     * Accessor method for the completed game that the player won that
      * required the least amount of time.
      * 
      * @return The completed game that the player won requiring
-     * the least amount of time.
+     * the least amount of time, or null if no game has been won.
      */
     public HangManGameData getFastestWin()
     {
-        // IF NO GAMES HAVE BEEN PLAYED, THERE IS
-        // NOTHING TO RETURN
+        return fastestWin;
+    }
+    
+    /**
+     * Calculates the average number of guesses made in each of the
+     * completed games.
+     * 
+     * @return The average number of guesses per completed game, or 0
+     * if no games have been completed.
+     */
+    public double getAverageGuesses()
+    {
         if (gamesHistory.isEmpty())
-            return null;
-
-        // NOTE THAT ALL THE GAMES PLAYED MAY BE LOSSES
-        HangManGameData fastest = null;
-
-        // GO THROUGH ALL THE GAMES THAT HAVE BEEN PLAYED
-        Iterator<HangManGameData> it = gamesHistory.iterator();
-        while(it.hasNext())
+            return 0;
+        return (double)totalGuesses / gamesHistory.size();
+    }
+    
+    /**
+     * Calculates the average time (in milliseconds) it took the player
+     * to win a game.
+     * 
+     * @return The average time of the games won, or 0 if no games have
+     * been won.
+     */
+    public long getAverageWinTime()
+    {
+        if (wins == 0)
+            return 0;
+        return totalWinTime / wins;
+    }
+    
+    /**
+     * Adds the completed game to the games history, updating the running
+     * stats as we go. Note that a game is only ever recorded once.
+     * 
+     * @param completedGame The game in progress, which has just ended.
+     * @return true if the game was added, false if it had already been.
+     */
+    private boolean recordCompletedGame(HangManGameData completedGame)
+    {
+        if (gameInProgressRecorded)
+            return false;
+        gamesHistory.add(completedGame);
+        gameInProgressRecorded = true;
+        
+        totalGuesses += completedGame.getNumGuesses();
+        
+        // ONLY WINS ARE CONSIDERED FOR THE BEST GAMES
+        if (completedGame.isWordFound())
         {
-            // GET THE NEXT GAME IN THE SEQUENCE
-            HangManGameData game = it.next();
-
-            // WE ONLY CONSIDER GAMES THAT WERE WON
-            if (game.isWordFound())
-            {
-                // IF IT'S THE FIRST WIN FOUND, START OUT
-                // WITH IT AS THE FASTEST UNTIL WE FIND ONE BETTER
-                if (fastest == null)
-                    fastest = game;
-                // OTHERWISE IF IT IS FASTER THEN
-                // MAKE IT THE FASTEST           
-                else if (game.getTimeOfGame() < fastest.getTimeOfGame())
-                    fastest = game;
-            }
+            wins++;
+            GAMES_WON.increment();
+            totalWinTime += completedGame.getTimeOfGame();
+            if ((fewestGuessesWin == null)
+                    || (completedGame.getNumGuesses() < fewestGuessesWin.getNumGuesses()))
+                fewestGuessesWin = completedGame;
+            if ((fastestWin == null)
+                    || (completedGame.getTimeOfGame() < fastestWin.getTimeOfGame()))
+                fastestWin = completedGame;
+        }
+        else
+        {
+            losses++;
+            GAMES_LOST.increment();
+        }
+        
+        // LET A FLIGHT RECORDING SEE HOW THE GAME WENT
+        HangManGameOverEvent event = new HangManGameOverEvent();
+        if (event.shouldCommit())
+        {
+            event.won = completedGame.isWordFound();
+            event.numGuesses = completedGame.getNumGuesses();
+            event.wrongGuesses = completedGame.getWrongTimes();
+            event.gameTime = completedGame.getTimeOfGame();
+            event.commit();
         }
-        // RETURN THE FASTEST GAME
-        return fastest;        
+        return true;
     }
 
 	/**
@@ -249,13 +410,28 @@ public class HangManGameStateManager {
 	 *         letters. 'great' would return false because it has no repeating
 	 *         letters.
 	 */
-	public boolean hasRepeatingLetters(String testWord) {
+	public static boolean hasRepeatingLetters(String testWord) {
+		// ONE BIT FOR EACH ASCII CHARACTER SEEN SO FAR, SO WE ONLY
+		// HAVE TO GO THROUGH THE WORD ONCE
+		long seenLow = 0;
+		long seenHigh = 0;
 		for (int i = 0; i < testWord.length(); i++) {
 			char testChar = testWord.charAt(i);
-			for (int j = i + 1; j < testWord.length(); j++) {
-				char testChar2 = testWord.charAt(j);
-				if (testChar == testChar2)
+			if (testChar < 64) {
+				long bit = 1L << testChar;
+				if ((seenLow & bit) != 0)
+					return true;
+				seenLow |= bit;
+			} else if (testChar < 128) {
+				long bit = 1L << (testChar - 64);
+				if ((seenHigh & bit) != 0)
 					return true;
+				seenHigh |= bit;
+			}
+			// OTHER LETTERS ARE RARE, SO FOR THOSE WE JUST LOOK
+			// THROUGH THE REST OF THE WORD
+			else if (testWord.indexOf(testChar, i + 1) >= 0) {
+				return true;
 			}
 		}
 		return false;
@@ -272,25 +448,90 @@ public class HangManGameStateManager {
 	public void loadWordList(String initWordList) {
 		// SEPARATE THE LOADED STRING INTO WORDS
 		String[] words = initWordList.split(NEWLINE_DELIMITER);
+		loadWordList(Arrays.asList(words));
+	}
+
+	/**
+	 * Initializes the dictionary to be used to play the game from words that
+	 * have already been separated, for example by
+	 * HangManFileLoader.loadWordListFile.
+	 * 
+	 * @param words
+	 *            All the words to be loaded into the dictionary.
+	 */
+	public void loadWordList(List<String> words) {
+		HangManLanguageLoadedEvent event = new HangManLanguageLoadedEvent();
+		event.begin();
+
+		// BIG DICTIONARIES ARE SPREAD ACROSS ALL THE CORES, BUT SMALL ONES
+		// AREN'T WORTH THE TROUBLE. NOTE THAT THE STREAMS KEEP THE WORDS IN
+		// THEIR ORIGINAL ORDER EITHER WAY
+		boolean parallel = words.size() >= PARALLEL_LOAD_THRESHOLD;
 
 		// WE'LL ACTUALLY USE 2 LISTS, ONE WITH ALL THE WORDS, WHICH
-		// ARE ALL LEGAL FOR GUESSES
-		wordList = new ArrayList();
+		// ARE ALL LEGAL FOR GUESSES. WE'LL USE ALL CAPS
+		Stream<String> allWords = parallel ? words.parallelStream() : words.stream();
+		ArrayList<String> wordList = allWords
+				.map(word -> word.toUpperCase())
+				.collect(Collectors.toCollection(ArrayList::new));
 
 		// AND ONE WITH ALL THE WORDS WITH NO REPEATING LETTERS,
-		// WHICH MAKES THEM CANDIDATES TO BE SECRET WORDS
-		nonRepeatingWordList = new ArrayList();
-
-		// GO THROUGH ALL THE WORDS
-		for (int i = 0; i < words.length; i++) {
-			// WE'LL USE ALL CAPS
-			String word = words[i].toUpperCase();
-
-			// ADD THE WORDS TO THEIR CORRECT LISTS
-			wordList.add(word);
-			if (!this.hasRepeatingLetters(word)) {
-				nonRepeatingWordList.add(word);
-			}
+		// WHICH MAKES THEM CANDIDATES TO BE SECRET WORDS. EACH ONLY
+		// GOES IN ONCE, SO A PLAYER GOING THROUGH THEM ALL NEVER SEES
+		// THE SAME SECRET WORD TWICE
+		Stream<String> candidates = parallel ? wordList.parallelStream() : wordList.stream();
+		ArrayList<String> nonRepeatingWordList = candidates
+				.filter(word -> !hasRepeatingLetters(word))
+				.distinct()
+				.collect(Collectors.toCollection(ArrayList::new));
+
+		// ONLY PUBLISH THE LISTS ONCE THEY ARE COMPLETE, SINCE OTHER
+		// MANAGERS MAY BE SHARING THEM
+		this.wordList = wordList;
+		this.nonRepeatingWordList = nonRepeatingWordList;
+		this.wordListSource = null;
+		this.candidateIndex = null;
+		this.difficultyIndex = null;
+		this.letterOptions = null;
+		this.solver = null;
+		commitLanguageLoaded(event);
+	}
+
+	/**
+	 * Initializes the dictionary to be used to play the game from words that
+	 * have already been prepared, for example by a compiled
+	 * HangManBinaryDictionary, so no further work is done on them.
+	 * 
+	 * @param words
+	 *            All the words to be loaded into the dictionary, already in
+	 *            all caps.
+	 * @param candidateWords
+	 *            The words with no repeating letters, which are candidates to
+	 *            be secret words.
+	 */
+	public void loadWordList(List<String> words, List<String> candidateWords) {
+		HangManLanguageLoadedEvent event = new HangManLanguageLoadedEvent();
+		event.begin();
+		this.wordList = new ArrayList<String>(words);
+		this.nonRepeatingWordList = new ArrayList<String>(candidateWords);
+		this.wordListSource = null;
+		this.candidateIndex = null;
+		this.difficultyIndex = null;
+		this.letterOptions = null;
+		this.solver = null;
+		commitLanguageLoaded(event);
+	}
+
+	/*
+	 * Records the dictionary just loaded in a flight recording, if there is
+	 * one.
+	 */
+	private void commitLanguageLoaded(HangManLanguageLoadedEvent event) {
+		event.end();
+		if (event.shouldCommit()) {
+			event.words = wordList.size();
+			event.candidateWords = nonRepeatingWordList.size();
+			event.commit();
 		}
 	}
 
@@ -301,29 +542,40 @@ public class HangManGameStateManager {
 	 * this change of state such that it may reflect this change.
 	 */
 	public void startNewGame() {
-		// IS THERE A GAME ALREADY UNDERWAY?
-		// YES, SO END THAT GAME AS A LOSS
-		if (!isGameNotStarted() && (!gamesHistory.contains(gameInProgress)))
-			gamesHistory.add(gameInProgress);
+		long startNanos = System.nanoTime();
+		HangManGameStartedEvent event = new HangManGameStartedEvent();
+		event.begin();
 
 		// IF THERE IS A GAME IN PROGRESS AND THE PLAYER HASN'T WON, THAT MEANS
 		// THE PLAYER IS QUITTING, SO WE NEED TO SAVE THE GAME TO OUR HISTORY
-		// DATA STRUCTURE. NOTE THAT IF THE PLAYER WON THE GAME, IT WOULD HAVE
-		// ALREADY BEEN SAVED SINCE THERE WOULD BE NO GUARANTEE THE PLAYER WOULD
-		// CHOOSE TO PLAY AGAIN
+		// DATA STRUCTURE AS A LOSS. NOTE THAT IF THE GAME IS OVER, IT WOULD
+		// HAVE ALREADY BEEN SAVED SINCE THERE WOULD BE NO GUARANTEE THE PLAYER
+		// WOULD CHOOSE TO PLAY AGAIN
 		if (isGameInProgress() && !gameInProgress.isWordFound()) {
 			// QUIT THE GAME, WHICH SETS THE END TIME
 			gameInProgress.giveUp();
 
 			// MAKE SURE THE STATS PAGE KNOWS ABOUT THE COMPLETED GAME
-			ui.getDocManager().addGameResultToStatsPage(gameInProgress);
+			if (recordCompletedGame(gameInProgress)) {
+				for (HangManGameListener listener : listeners)
+					listener.gameCompleted(gameInProgress);
+			}
 		}
 
 		// AND NOW MAKE A NEW GAME
 		makeNewGame();
 
 		// AND MAKE SURE THE UI REFLECTS A NEW GAME
-		ui.resetUI();
+		for (HangManGameListener listener : listeners)
+			listener.gameStarted(gameInProgress);
+		GAMES_STARTED.increment();
+		GAME_START_LATENCY.recordSince(startNanos);
+		event.end();
+		if (event.shouldCommit()) {
+			event.gamesPlayed = gamesHistory.size();
+			event.wordLength = gameInProgress.getSecretWord().length();
+			event.commit();
+		}
 	}
     
     /**
@@ -332,17 +584,57 @@ public class HangManGameStateManager {
      */
     public void makeNewGame()
     {
-        // FIRST PICK THE SECRET WORD
-        int randomNum = (int)(Math.random() * nonRepeatingWordList.size());
-        String secretWord = nonRepeatingWordList.get(randomNum);
+        // FIRST PICK THE SECRET WORD, FROM THE WORDS OF THE
+        // DIFFICULTY IF THERE IS ONE
+        String secretWord;
+        if (difficulty != HangManDifficulty.ANY)
+        {
+            HangManDifficultyIndex index = getDifficultyIndex();
+            int wordNum = nextSecretWord(index, index.getNumWords(difficulty));
+            secretWord = index.getWord(difficulty, wordNum);
+        }
+        else
+        {
+            int wordNum = nextSecretWord(nonRepeatingWordList,
+                    nonRepeatingWordList.size());
+            secretWord = nonRepeatingWordList.get(wordNum);
+        }
         
-        // THEN MAKE THE GAME WITH IT
-        gameInProgress = new HangManGameData(secretWord);
+        // THEN MAKE THE GAME WITH IT. AN EVIL GAME STARTS WITH EVERY
+        // CANDIDATE OF THE SAME LENGTH, AND ONLY NARROWS THEM AS IT GOES
+        if (gameMode == HangManGameMode.EVIL)
+        {
+            HangManCandidateIndex index = getCandidateIndex();
+            gameInProgress = new HangManEvilGameData(index,
+                    index.getWordsOfLength(secretWord.length()));
+        }
+        else
+        {
+            gameInProgress = new HangManGameData(secretWord);
+        }
+        gameInProgressRecorded = false;
         
         // THE GAME IS OFFICIALLY UNDERWAY
         currentGameState = HangManGameState.GAME_IN_PROGRESS;
     }
     
+    /*
+     * Picks the number of the next secret word from a pool of words in this
+     * player's order, starting a new order whenever the pool changes.
+     */
+    private int nextSecretWord(Object pool, int poolSize)
+    {
+        if (secretWordSequence == null || secretWordPool != pool
+                || secretWordDifficulty != difficulty
+                || secretWordSequence.getSize() != poolSize)
+        {
+            secretWordSequence = new HangManSecretWordSequence(poolSize, random);
+            secretWordPool = pool;
+            secretWordDifficulty = difficulty;
+        }
+        return secretWordSequence.next();
+    }
+    
     /**
      * This method processes the guess letter, checking to make sure it's
      * in the secret word and then updating the game accordingly.
@@ -352,13 +644,18 @@ public class HangManGameStateManager {
      */
     public void processGuess(String guessState,String guess) 
     {
+        long startNanos = System.nanoTime();
+        HangManGuessEvent event = new HangManGuessEvent();
+        event.begin();
+        int wrongTimesBefore = gameInProgress.getWrongTimes();
 
         // RECORD THE GUESS
 
         String newGuessMatch=gameInProgress.guess(guessState,guess);
         int wrongGuessTimes=gameInProgress.getWrongTimes();
         
-        ui.updateHangMan(wrongGuessTimes);
+        for (HangManGameListener listener : listeners)
+            listener.wrongGuessesChanged(wrongGuessTimes);
         
         //IS WRONG GUESS EXCEED SIX?
         if(wrongGuessTimes>=6){
@@ -366,10 +663,12 @@ public class HangManGameStateManager {
             currentGameState = HangManGameState.GAME_OVER;
             
             // ADD THE COMPLETED GAME TO THE HISTORY
-            gamesHistory.add(gameInProgress);
-            
             // AND MAKE SURE THE STATS PAGE IS CURRENT
-            ui.getDocManager().addGameResultToStatsPage(gameInProgress);
+            if (recordCompletedGame(gameInProgress))
+            {
+                for (HangManGameListener listener : listeners)
+                    listener.gameCompleted(gameInProgress);
+            }
         }
         // IS IT THE WORD?
         if (gameInProgress.isWordFound())
@@ -378,15 +677,236 @@ public class HangManGameStateManager {
             currentGameState = HangManGameState.GAME_OVER;
             
             // ADD THE COMPLETED GAME TO THE HISTORY
-            gamesHistory.add(gameInProgress);
-            
             // AND MAKE SURE THE STATS PAGE IS CURRENT
-            ui.getDocManager().addGameResultToStatsPage(gameInProgress);
+            if (recordCompletedGame(gameInProgress))
+            {
+                for (HangManGameListener listener : listeners)
+                    listener.gameCompleted(gameInProgress);
+            }
         }
 
         // THE UI NEEDS TO RENDER WITH THE LATEST STATE INFO
-        ui.getDocManager().addGuessToGamePage(guess,newGuessMatch);
-        
-        
+        for (HangManGameListener listener : listeners)
+            listener.guessProcessed(gameInProgress, guess, newGuessMatch);
+        GUESSES.increment();
+        GUESS_LATENCY.recordSince(startNanos);
+        event.end();
+        if (event.shouldCommit())
+        {
+            event.guess = guess;
+            event.hit = (wrongGuessTimes == wrongTimesBefore);
+            event.numGuesses = gameInProgress.getNumGuesses();
+            event.wrongGuesses = wrongGuessTimes;
+            event.commit();
+        }
+    }
+    
+    /**
+     * This method processes the guess letter against the so-far-guessed
+     * word of the game in progress. It is meant for callers that, unlike
+     * the user interface, don't keep track of the guess state themselves.
+     * 
+     * @param guess The letter that the player is guessing
+     * @return The so-far-guessed word after the guess
+     */
+    public String processGuess(String guess)
+    {
+        processGuess(gameInProgress.getNewGuess(), guess);
+        return gameInProgress.getNewGuess();
+    }
+    
+    /**
+     * Makes this manager use the same dictionary as the source manager
+     * rather than loading its own. Note that loaded word lists are never
+     * changed, only replaced, so it is safe for many managers to share them.
+     * Only what the source has already built is copied, anything else is
+     * built by the manager that loaded the word lists the first time one of
+     * its sharers asks for it, so sharing never does any real work.
+     * 
+     * @param source A manager whose word list has already been loaded.
+     */
+    public void shareWordList(HangManGameStateManager source)
+    {
+        wordList = source.wordList;
+        nonRepeatingWordList = source.nonRepeatingWordList;
+        wordListSource = (source.wordListSource != null)
+                ? source.wordListSource : source;
+        candidateIndex = source.candidateIndex;
+        difficultyIndex = source.difficultyIndex;
+        letterOptions = source.letterOptions;
+        solver = source.solver;
+    }
+    
+    /*
+     * Finds the manager whose word lists we share, so long as it still has
+     * the same ones, for building things there once for all its sharers.
+     */
+    private HangManGameStateManager getWordListSource()
+    {
+        HangManGameStateManager source = wordListSource;
+        if (source == null || source.wordList != wordList
+                || source.nonRepeatingWordList != nonRepeatingWordList)
+            return null;
+        return source;
+    }
+    
+    /**
+     * Mutator method for the letters the player can guess, so that hints
+     * are only ever for letters the player has a button for.
+     * 
+     * @param options The letters, each in all caps, or null for any letter
+     * of the words.
+     */
+    public void setLetterOptions(List<String> options)
+    {
+        String newLetterOptions = null;
+        if (options != null)
+        {
+            StringBuilder letters = new StringBuilder(options.size());
+            for (String option : options)
+                letters.append(option.charAt(0));
+            newLetterOptions = letters.toString();
+        }
+        synchronized (this)
+        {
+            if (newLetterOptions == null ? letterOptions != null
+                    : !newLetterOptions.equals(letterOptions))
+            {
+                letterOptions = newLetterOptions;
+                solver = null;
+                difficultyIndex = null;
+            }
+        }
+    }
+    
+    /*
+     * Tests to see if the source manager has these letter options.
+     */
+    private static boolean isSameLetterOptions(String options,
+            HangManGameStateManager source)
+    {
+        String sourceOptions = source.letterOptions;
+        return (options == null) ? sourceOptions == null
+                : options.equals(sourceOptions);
+    }
+    
+    /**
+     * Accessor method for the letters the player can guess.
+     * 
+     * @return The letters, or null for any letter of the words.
+     */
+    public String getLetterOptions()
+    {
+        return letterOptions;
+    }
+    
+    /**
+     * Accessor method for the candidate words packed for evil games,
+     * building them the first time they're asked for.
+     * 
+     * @return The index of this manager's candidate words.
+     */
+    public HangManCandidateIndex getCandidateIndex()
+    {
+        HangManCandidateIndex index = candidateIndex;
+        if (index == null)
+        {
+            HangManGameStateManager source = getWordListSource();
+            if (source != null)
+            {
+                index = source.getCandidateIndex();
+                candidateIndex = index;
+                return index;
+            }
+            synchronized (this)
+            {
+                index = candidateIndex;
+                if (index == null)
+                {
+                    index = new HangManCandidateIndex(nonRepeatingWordList);
+                    candidateIndex = index;
+                }
+            }
+        }
+        return index;
+    }
+    
+    /**
+     * Accessor method for the solver that suggests hints for this manager's
+     * games, building it the first time it's asked for.
+     * 
+     * @return The solver for this manager's candidate words and letter
+     * options.
+     */
+    public HangManSolver getSolver()
+    {
+        HangManSolver gameSolver = solver;
+        if (gameSolver == null)
+        {
+            // THE SOURCE'S SOLVER ONLY DOES IF IT SUGGESTS THE SAME LETTERS
+            HangManGameStateManager source = getWordListSource();
+            String options = letterOptions;
+            if (source != null && isSameLetterOptions(options, source))
+            {
+                gameSolver = source.getSolver();
+                synchronized (this)
+                {
+                    if (options == letterOptions)
+                        solver = gameSolver;
+                }
+                return gameSolver;
+            }
+            HangManCandidateIndex candidates = getCandidateIndex();
+            synchronized (this)
+            {
+                gameSolver = solver;
+                if (gameSolver == null)
+                {
+                    gameSolver = new HangManSolver(candidates, letterOptions);
+                    solver = gameSolver;
+                }
+            }
+        }
+        return gameSolver;
+    }
+    
+    /**
+     * Accessor method for the difficulty of every candidate word, scoring
+     * them the first time they're asked for. The prefetcher asks for them
+     * while the dictionary is loaded, off the UI thread, so this only scores
+     * them here for a dictionary it didn't load.
+     * 
+     * @return The difficulty index of this manager's candidate words.
+     */
+    public HangManDifficultyIndex getDifficultyIndex()
+    {
+        HangManDifficultyIndex index = difficultyIndex;
+        if (index == null)
+        {
+            // THE SOURCE'S SCORES ONLY DO IF THEY'RE FOR THE SAME LETTERS
+            HangManGameStateManager source = getWordListSource();
+            String options = letterOptions;
+            if (source != null && isSameLetterOptions(options, source))
+            {
+                index = source.getDifficultyIndex();
+                synchronized (this)
+                {
+                    if (options == letterOptions)
+                        difficultyIndex = index;
+                }
+                return index;
+            }
+            HangManCandidateIndex candidates = getCandidateIndex();
+            synchronized (this)
+            {
+                index = difficultyIndex;
+                if (index == null)
+                {
+                    index = new HangManDifficultyIndex(candidates, letterOptions);
+                    difficultyIndex = index;
+                }
+            }
+        }
+        return index;
     }
 }
@@ -0,0 +1,126 @@
+package HangMan.game;
+
+import java.util.SplittableRandom;
+
+/**
+ * HangManSecretWordSequence goes through the numbers 0 up to a pool size in a
+ * shuffled order, so a player picking secret words with it never gets the
+ * same one twice until every word of the pool has been played. Rather than
+ * storing a shuffled array, the order comes from a small Feistel network keyed
+ * at random, which is a permutation of the numbers up to the next power of
+ * four, and numbers past the pool size are skipped by feeding them back in
+ * until one lands inside it. So a sequence is a few fields however big the
+ * pool, and once it runs out it is keyed again for a new order.
+ *
+ * A sequence belongs to one player, and isn't safe to share between threads.
+ */
+public class HangManSecretWordSequence {
+	// HOW MANY TIMES EACH NUMBER IS SCRAMBLED
+	static final int ROUNDS = 4;
+
+	// THE BIGGEST POOL WHOSE NEXT POWER OF FOUR STILL FITS IN AN int
+	public static final int MAX_SIZE = 1 << 30;
+
+	private int size;
+	private SplittableRandom random;
+
+	// THE BITS IN EACH HALF OF A NUMBER, AND A MASK OF THEM
+	private int halfBits;
+	private int halfMask;
+
+	// THE KEY OF EACH ROUND
+	private int[] roundKeys;
+
+	// HOW FAR THROUGH THE CURRENT ORDER WE ARE
+	private int position;
+
+	/**
+	 * Constructor for a sequence over a pool.
+	 *
+	 * @param initSize
+	 *            How many words are in the pool, from one up to MAX_SIZE.
+	 * @param initRandom
+	 *            The player's own source of random numbers, used to key each
+	 *            new order.
+	 */
+	public HangManSecretWordSequence(int initSize, SplittableRandom initRandom) {
+		if (initSize < 1 || initSize > MAX_SIZE)
+			throw new IllegalArgumentException("Can't pick from " + initSize
+					+ " words");
+		size = initSize;
+		random = initRandom;
+		int bits = Integer.SIZE - Integer.numberOfLeadingZeros(size - 1);
+		halfBits = (bits + 1) >>> 1;
+		halfMask = (1 << halfBits) - 1;
+		roundKeys = new int[ROUNDS];
+		shuffle();
+	}
+
+	/*
+	 * Starts a new order with new round keys.
+	 */
+	private void shuffle() {
+		for (int round = 0; round < ROUNDS; round++)
+			roundKeys[round] = random.nextInt();
+		position = 0;
+	}
+
+	/**
+	 * Accessor method for how many words are in the pool.
+	 *
+	 * @return The pool size.
+	 */
+	public int getSize() {
+		return size;
+	}
+
+	/**
+	 * Accessor method for how many words of the pool are left before the
+	 * order starts over.
+	 *
+	 * @return The words not yet picked in this order.
+	 */
+	public int getRemaining() {
+		return size - position;
+	}
+
+	/**
+	 * Picks the next word of the pool.
+	 *
+	 * @return The number of the word in the pool, which won't be picked again
+	 *         until all the others have been.
+	 */
+	public int next() {
+		if (position == size)
+			shuffle();
+		int next = permute(position++);
+		while (next >= size)
+			next = permute(next);
+		return next;
+	}
+
+	/*
+	 * Scrambles a number with the Feistel network, swapping its halves each
+	 * round after mixing one into the other. Every round can be undone, so no
+	 * two numbers scramble to the same one.
+	 */
+	private int permute(int number) {
+		int left = number >>> halfBits;
+		int right = number & halfMask;
+		for (int round = 0; round < ROUNDS; round++) {
+			int mixed = left ^ (mix(right ^ roundKeys[round]) & halfMask);
+			left = right;
+			right = mixed;
+		}
+		return (left << halfBits) | right;
+	}
+
+	/*
+	 * Spreads every bit of the value over the others.
+	 */
+	private static int mix(int value) {
+		value = (value ^ (value >>> 16)) * 0x85EBCA6B;
+		value = (value ^ (value >>> 13)) * 0xC2B2AE35;
+		return value ^ (value >>> 16);
+	}
+}
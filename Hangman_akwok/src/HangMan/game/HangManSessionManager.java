@@ -0,0 +1,225 @@
+package HangMan.game;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * HangManSessionManager hosts many independent HangMan games at once without
+ * any user interface. Each session is its own HangManGameStateManager, keyed by
+ * a session id, and all sessions share a single loaded dictionary. Note that
+ * sessions are kept in a concurrent map and every operation on a session locks
+ * only that session, so players never wait on one another.
+ */
+public class HangManSessionManager implements HangManDictionary {
+	// ALL THE SESSIONS CURRENTLY BEING PLAYED, BY SESSION ID
+	private ConcurrentHashMap<String, HangManGameStateManager> sessions;
+
+	// THIS MANAGER ONLY HOLDS THE DICTIONARY THAT ALL SESSIONS SHARE,
+	// IT NEVER PLAYS A GAME ITSELF
+	private volatile HangManGameStateManager dictionary;
+
+	public HangManSessionManager() {
+		sessions = new ConcurrentHashMap<String, HangManGameStateManager>();
+		dictionary = null;
+	}
+
+	/**
+	 * Initializes the dictionary to be used by all sessions opened after this
+	 * call.
+	 *
+	 * @param initWordList
+	 *            This String contains all the words to be loaded into the
+	 *            dictionary, separated by newline characters.
+	 */
+	public void loadWordList(String initWordList) {
+		HangManGameStateManager newDictionary = new HangManGameStateManager();
+		newDictionary.loadWordList(initWordList);
+		dictionary = newDictionary;
+	}
+
+	/**
+	 * Initializes the dictionary to be used by all sessions opened after this
+	 * call from words that have already been separated.
+	 *
+	 * @param words
+	 *            All the words to be loaded into the dictionary.
+	 */
+	public void loadWordList(List<String> words) {
+		HangManGameStateManager newDictionary = new HangManGameStateManager();
+		newDictionary.loadWordList(words);
+		dictionary = newDictionary;
+	}
+
+	/**
+	 * Initializes the dictionary to be used by all sessions opened after this
+	 * call from words that have already been prepared.
+	 *
+	 * @param words
+	 *            All the words to be loaded into the dictionary, already in
+	 *            all caps.
+	 * @param candidateWords
+	 *            The words that are candidates to be secret words.
+	 */
+	public void loadWordList(List<String> words, List<String> candidateWords) {
+		HangManGameStateManager newDictionary = new HangManGameStateManager();
+		newDictionary.loadWordList(words, candidateWords);
+		dictionary = newDictionary;
+	}
+
+	/**
+	 * Mutator method for the letters players of the dictionary can guess,
+	 * which sessions opened after this call share.
+	 *
+	 * @param options
+	 *            The letters, each in all caps, or null for any letter of the
+	 *            words.
+	 */
+	public void setLetterOptions(List<String> options) {
+		HangManGameStateManager source = dictionary;
+		if (source == null)
+			throw new IllegalStateException("No word list has been loaded");
+		source.setLetterOptions(options);
+	}
+
+	/**
+	 * Accessor method for the packed candidates of the dictionary that new
+	 * sessions share.
+	 *
+	 * @return The candidate index of the loaded dictionary.
+	 */
+	public HangManCandidateIndex getCandidateIndex() {
+		HangManGameStateManager source = dictionary;
+		if (source == null)
+			throw new IllegalStateException("No word list has been loaded");
+		return source.getCandidateIndex();
+	}
+
+	/**
+	 * Accessor method for the solver of the dictionary that new sessions
+	 * share, which only suggests the letters set as options.
+	 *
+	 * @return The solver of the loaded dictionary.
+	 */
+	public HangManSolver getSolver() {
+		HangManGameStateManager source = dictionary;
+		if (source == null)
+			throw new IllegalStateException("No word list has been loaded");
+		return source.getSolver();
+	}
+
+	/**
+	 * Opens a new session, or returns the existing one if a session with this
+	 * id is already open.
+	 *
+	 * @param sessionId
+	 *            The id the session will be known by.
+	 * @param listener
+	 *            Notified of the session's game state changes, may be null for
+	 *            sessions nobody needs to hear about.
+	 * @return The game state manager that plays this session's games.
+	 */
+	public HangManGameStateManager openSession(String sessionId,
+			HangManGameListener listener) {
+		HangManGameStateManager source = dictionary;
+		if (source == null)
+			throw new IllegalStateException("No word list has been loaded");
+
+		HangManGameStateManager session = sessions.get(sessionId);
+		if (session != null)
+			return session;
+
+		// BUILD IT FULLY BEFORE ANYONE ELSE CAN SEE IT
+		HangManGameStateManager newSession = new HangManGameStateManager();
+		newSession.shareWordList(source);
+		if (listener != null)
+			newSession.addGameListener(listener);
+		session = sessions.putIfAbsent(sessionId, newSession);
+		return (session == null) ? newSession : session;
+	}
+
+	/**
+	 * Closes the session, discarding its games.
+	 *
+	 * @param sessionId
+	 *            The id of the session to close.
+	 * @return true if there was such a session, false otherwise.
+	 */
+	public boolean closeSession(String sessionId) {
+		return sessions.remove(sessionId) != null;
+	}
+
+	/**
+	 * Accessor method for getting an open session.
+	 *
+	 * @param sessionId
+	 *            The id of the session.
+	 * @return The session's game state manager, or null if it is not open.
+	 */
+	public HangManGameStateManager getSession(String sessionId) {
+		return sessions.get(sessionId);
+	}
+
+	/**
+	 * Accessor method for the number of sessions currently open.
+	 *
+	 * @return The number of open sessions.
+	 */
+	public int getNumSessions() {
+		return sessions.size();
+	}
+
+	/**
+	 * Accessor method for going through the ids of all open sessions.
+	 *
+	 * @return An Iterator over the ids of the open sessions.
+	 */
+	public Iterator<String> sessionIdsIterator() {
+		return sessions.keySet().iterator();
+	}
+
+	/**
+	 * Starts a new game in the session, recording any game it had in progress
+	 * as a loss.
+	 *
+	 * @param sessionId
+	 *            The id of the session.
+	 * @return The new game.
+	 */
+	public HangManGameData startNewGame(String sessionId) {
+		HangManGameStateManager session = requireSession(sessionId);
+		synchronized (session) {
+			session.startNewGame();
+			return session.getGameInProgress();
+		}
+	}
+
+	/**
+	 * Processes the guess letter in the session's game in progress.
+	 *
+	 * @param sessionId
+	 *            The id of the session.
+	 * @param guess
+	 *            The letter that the player is guessing.
+	 * @return The so-far-guessed word after the guess.
+	 */
+	public String processGuess(String sessionId, String guess) {
+		HangManGameStateManager session = requireSession(sessionId);
+		synchronized (session) {
+			if (!session.isGameInProgress())
+				throw new IllegalStateException("Session " + sessionId
+						+ " has no game in progress");
+			return session.processGuess(guess);
+		}
+	}
+
+	/*
+	 * Gets the session, complaining if it was never opened or has been closed.
+	 */
+	private HangManGameStateManager requireSession(String sessionId) {
+		HangManGameStateManager session = sessions.get(sessionId);
+		if (session == null)
+			throw new IllegalArgumentException("No open session " + sessionId);
+		return session;
+	}
+}
@@ -0,0 +1,348 @@
+package HangMan.game;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+import HangMan.metrics.HangManHistogram;
+import HangMan.metrics.HangManMetrics;
+
+/**
+ * HangManSolver suggests the best letter to guess next in a game, for hints
+ * and for computer players. It finds every candidate word that fits what has
+ * been revealed so far, then scores each letter not yet guessed by how it
+ * would split those candidates. Counting is done with primitive counters over
+ * the candidate index's letter columns, spread over a fork/join pool when
+ * there are enough candidates to make that worthwhile. Only the letters the
+ * player has options for are ever suggested, so no hint is for a letter
+ * without a button. A solver never changes, so one may be shared by any
+ * number of games of the same dictionary and letter options.
+ */
+public class HangManSolver {
+	// WHAT THE SUGGESTED GUESS SHOULD DO BEST
+	public enum HangManSolverGoal {
+		// SPLIT THE CANDIDATES AS EVENLY AS POSSIBLE, WHICH NARROWS
+		// THEM DOWN FASTEST
+		MOST_INFORMATION,
+
+		// BE AS LIKELY AS POSSIBLE TO BE IN THE SECRET WORD
+		FEWEST_WRONG_GUESSES
+	}
+
+	// RETURNED WHEN EVERY LETTER HAS ALREADY BEEN GUESSED
+	public static final char NO_LETTER = 0;
+
+	// EACH FORK/JOIN TASK COUNTS AT LEAST THIS MANY CANDIDATES
+	static final int CANDIDATES_PER_TASK = 2048;
+
+	// HOW LONG EACH SUGGESTION TAKES
+	private static final HangManHistogram SUGGEST_LATENCY = HangManMetrics
+			.getMetrics().histogram(HangManMetrics.SOLVER_SUGGEST_LATENCY);
+
+	private HangManCandidateIndex index;
+	private ForkJoinPool pool;
+
+	// ONE BIT PER INDEX COLUMN FOR EACH LETTER THAT MAY BE SUGGESTED
+	private long suggestableColumns;
+
+	/**
+	 * Constructor for a solver that counts on the common fork/join pool.
+	 *
+	 * @param initIndex
+	 *            The packed candidates of the dictionary being played.
+	 * @param letterOptions
+	 *            The letters the player can guess, in all caps, or null if
+	 *            any letter of the candidates may be suggested.
+	 */
+	public HangManSolver(HangManCandidateIndex initIndex, String letterOptions) {
+		this(initIndex, letterOptions, ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * Constructor for a solver that counts on its own pool.
+	 *
+	 * @param initIndex
+	 *            The packed candidates of the dictionary being played.
+	 * @param letterOptions
+	 *            The letters the player can guess, in all caps, or null if
+	 *            any letter of the candidates may be suggested.
+	 * @param initPool
+	 *            The pool to count in.
+	 */
+	public HangManSolver(HangManCandidateIndex initIndex, String letterOptions,
+			ForkJoinPool initPool) {
+		index = initIndex;
+		pool = initPool;
+
+		// A LETTER NO CANDIDATE HAS IS NEVER WORTH SUGGESTING
+		if (letterOptions == null) {
+			suggestableColumns = (index.getNumLetters() == Long.SIZE) ? -1L
+					: (1L << index.getNumLetters()) - 1;
+		} else {
+			for (int i = 0; i < letterOptions.length(); i++) {
+				int column = index.getLetterColumn(letterOptions.charAt(i));
+				if (column >= 0)
+					suggestableColumns |= 1L << column;
+			}
+		}
+	}
+
+	/**
+	 * Accessor method for the letters this solver may suggest.
+	 *
+	 * @return One bit per index column for each letter it may suggest.
+	 */
+	long getSuggestableColumns() {
+		return suggestableColumns;
+	}
+
+	/**
+	 * Suggests the guess that tells the player the most about the secret
+	 * word.
+	 *
+	 * @param game
+	 *            The game in progress.
+	 * @return The letter to guess, or NO_LETTER if every letter the player
+	 *         can guess has been guessed.
+	 */
+	public char suggestGuess(HangManGameData game) {
+		return suggestGuess(game, HangManSolverGoal.MOST_INFORMATION);
+	}
+
+	/**
+	 * Suggests the best guess for the goal. Ties go to the other goal, and
+	 * then to 'A' through 'Z' in order, and then to the other letters.
+	 *
+	 * @param game
+	 *            The game in progress.
+	 * @param goal
+	 *            What the guess should do best.
+	 * @return The letter to guess, or NO_LETTER if every letter the player
+	 *         can guess has been guessed.
+	 */
+	public char suggestGuess(HangManGameData game, HangManSolverGoal goal) {
+		long startNanos = System.nanoTime();
+		char suggestion = pickGuess(game, goal);
+		SUGGEST_LATENCY.recordSince(startNanos);
+		return suggestion;
+	}
+
+	/*
+	 * Does the work of suggestGuess.
+	 */
+	private char pickGuess(HangManGameData game, HangManSolverGoal goal) {
+		long unguessed = suggestableColumns & ~guessedColumns(game);
+		if (unguessed == 0)
+			return NO_LETTER;
+
+		return index.getLetter(bestLetter(findCandidates(game),
+				game.maskedWordBuffer.length, unguessed, goal));
+	}
+
+	/*
+	 * Finds the index columns of every letter guessed so far. The game's
+	 * letter mask covers 'A' through 'Z' however they were guessed, and the
+	 * recorded guesses cover the rest.
+	 */
+	private long guessedColumns(HangManGameData game) {
+		long guessed = game.getGuessedLetterMask();
+		Iterator<String> guesses = game.guessesIterator();
+		while (guesses.hasNext()) {
+			int column = index.getLetterColumn(guesses.next().charAt(0));
+			if (column >= 0)
+				guessed |= 1L << column;
+		}
+		return guessed;
+	}
+
+	/**
+	 * Picks the best letter to guess for the goal when the candidates are
+	 * already known, for example when working through every word of a
+	 * dictionary at once.
+	 *
+	 * @param candidates
+	 *            The numbers in the index of the candidates still possible,
+	 *            all of the word length.
+	 * @param wordLength
+	 *            The length of the secret word.
+	 * @param unguessed
+	 *            The index columns of the letters that may be guessed, which
+	 *            must not be empty.
+	 * @param goal
+	 *            What the guess should do best.
+	 * @return The index column of the letter to guess.
+	 */
+	int bestLetter(int[] candidates, int wordLength, long unguessed,
+			HangManSolverGoal goal) {
+		// WITH NO CANDIDATES LEFT THERE'S NOTHING TO GO ON, SO
+		// WE JUST GO IN ORDER
+		int best = Long.numberOfTrailingZeros(unguessed);
+		if (candidates.length == 0)
+			return best;
+
+		int numGroups = wordLength + 1;
+		int[] counts = countGroups(candidates, unguessed, numGroups);
+
+		double bestInformation = information(counts, best, numGroups,
+				candidates.length);
+		int bestMisses = counts[best * numGroups];
+		for (long letters = unguessed & (unguessed - 1); letters != 0; letters &= letters - 1) {
+			int letter = Long.numberOfTrailingZeros(letters);
+			double information = information(counts, letter, numGroups,
+					candidates.length);
+			int misses = counts[letter * numGroups];
+			boolean better;
+			if (goal == HangManSolverGoal.MOST_INFORMATION)
+				better = (information > bestInformation)
+						|| (information == bestInformation && misses < bestMisses);
+			else
+				better = (misses < bestMisses)
+						|| (misses == bestMisses && information > bestInformation);
+			if (better) {
+				best = letter;
+				bestInformation = information;
+				bestMisses = misses;
+			}
+		}
+		return best;
+	}
+
+	/**
+	 * Finds every candidate word that fits the game so far, meaning it is the
+	 * right length, has each letter revealed at exactly the positions it was
+	 * revealed at, and has none of the letters guessed wrongly.
+	 *
+	 * @param game
+	 *            The game in progress.
+	 * @return The numbers of the candidates in the index.
+	 */
+	public int[] findCandidates(HangManGameData game) {
+		int[] candidates = index.getWordsOfLength(game.maskedWordBuffer.length);
+		int numCandidates = candidates.length;
+
+		// FIND WHERE EACH REVEALED LETTER IS, WHICH IS NOWHERE FOR THE
+		// LETTERS GUESSED WRONGLY. A REVEALED LETTER NO CANDIDATE HAS
+		// MEANS NONE OF THEM CAN BE THE SECRET WORD
+		char[] maskedWord = game.renderMaskedWord();
+		int[] expectedPositions = new int[index.getNumLetters()];
+		Arrays.fill(expectedPositions, HangManCandidateIndex.ABSENT);
+		long guessed = guessedColumns(game);
+		for (int i = 0; i < maskedWord.length; i++) {
+			if (maskedWord[i] == HangManGameData.HIDDEN_LETTER)
+				continue;
+			int letter = index.getLetterColumn(maskedWord[i]);
+			if (letter < 0)
+				return new int[0];
+			expectedPositions[letter] = i;
+			guessed |= 1L << letter;
+		}
+
+		// THEN KEEP ONLY THE CANDIDATES WITH EVERY GUESSED LETTER IN
+		// THE RIGHT PLACE, ONE LETTER COLUMN AT A TIME
+		byte[] positions = index.letterPositions;
+		int numWords = index.getNumWords();
+		for (; guessed != 0 && numCandidates > 0; guessed &= guessed - 1) {
+			int letter = Long.numberOfTrailingZeros(guessed);
+			int expected = expectedPositions[letter];
+			int column = letter * numWords;
+			int kept = 0;
+			for (int i = 0; i < numCandidates; i++) {
+				int candidate = candidates[i];
+				if (positions[column + candidate] == expected)
+					candidates[kept++] = candidate;
+			}
+			numCandidates = kept;
+		}
+		if (numCandidates == candidates.length)
+			return candidates;
+		int[] found = new int[numCandidates];
+		System.arraycopy(candidates, 0, found, 0, numCandidates);
+		return found;
+	}
+
+	/*
+	 * Counts, for each letter to score, how many candidates have it at each
+	 * position, with those that don't have it at all first. The counts for
+	 * letter l are at [l * numGroups] up to [(l + 1) * numGroups].
+	 */
+	private int[] countGroups(int[] candidates, long letters, int numGroups) {
+		if (candidates.length < 2 * CANDIDATES_PER_TASK)
+			return new CountTask(candidates, 0, candidates.length, letters,
+					numGroups).compute();
+		return pool.invoke(new CountTask(candidates, 0, candidates.length,
+				letters, numGroups));
+	}
+
+	/*
+	 * Works out how much, in bits, guessing the letter would be expected to
+	 * tell us, which is the entropy of how it splits the candidates.
+	 */
+	private static double information(int[] counts, int letter, int numGroups,
+			int numCandidates) {
+		double sum = 0;
+		for (int group = letter * numGroups; group < (letter + 1) * numGroups; group++) {
+			int count = counts[group];
+			if (count > 0)
+				sum += count * Math.log(count);
+		}
+		return (Math.log(numCandidates) - sum / numCandidates) / Math.log(2);
+	}
+
+	/*
+	 * Counts the groups of a range of the candidates, splitting the range in
+	 * half until each part is small enough to count directly.
+	 */
+	private class CountTask extends RecursiveTask<int[]> {
+		private static final long serialVersionUID = 1L;
+
+		private int[] candidates;
+		private int from;
+		private int to;
+		private long letters;
+		private int numGroups;
+
+		CountTask(int[] initCandidates, int initFrom, int initTo,
+				long initLetters, int initNumGroups) {
+			candidates = initCandidates;
+			from = initFrom;
+			to = initTo;
+			letters = initLetters;
+			numGroups = initNumGroups;
+		}
+
+		@Override
+		protected int[] compute() {
+			if (to - from < 2 * CANDIDATES_PER_TASK)
+				return countDirectly();
+
+			int middle = (from + to) >>> 1;
+			CountTask left = new CountTask(candidates, from, middle, letters,
+					numGroups);
+			left.fork();
+			int[] counts = new CountTask(candidates, middle, to, letters,
+					numGroups).compute();
+			int[] leftCounts = left.join();
+			for (int i = 0; i < counts.length; i++)
+				counts[i] += leftCounts[i];
+			return counts;
+		}
+
+		/*
+		 * Goes down each letter's column for just this range.
+		 */
+		private int[] countDirectly() {
+			int[] counts = new int[index.getNumLetters() * numGroups];
+			byte[] positions = index.letterPositions;
+			int numWords = index.getNumWords();
+			for (long remaining = letters; remaining != 0; remaining &= remaining - 1) {
+				int letter = Long.numberOfTrailingZeros(remaining);
+				int column = letter * numWords;
+				int groups = letter * numGroups + 1;
+				for (int i = from; i < to; i++)
+					counts[groups + positions[column + candidates[i]]]++;
+			}
+			return counts;
+		}
+	}
+}
@@ -0,0 +1,127 @@
+package HangMan.loadtest;
+
+import java.util.Random;
+
+import HangMan.game.HangManGameData;
+import HangMan.game.HangManSolver;
+
+/**
+ * HangManGuessStrategy is how a simulated player picks its next letter. Each
+ * strategy only ever picks letters 'A' through 'Z' that haven't been guessed
+ * yet in the game, just like the letter buttons of the user interface. Most
+ * only go by the letters already guessed, but SOLVER looks at the whole game.
+ */
+public enum HangManGuessStrategy {
+	/**
+	 * Guesses the letters in alphabetical order.
+	 */
+	ALPHABETICAL {
+		@Override
+		public char nextLetter(int guessedMask, Random random) {
+			int unguessed = ~guessedMask & ALL_LETTERS;
+			if (unguessed == 0)
+				return NO_LETTER;
+			return (char) ('A' + Integer.numberOfTrailingZeros(unguessed));
+		}
+	},
+
+	/**
+	 * Guesses any letter not yet guessed, each equally likely.
+	 */
+	RANDOM {
+		@Override
+		public char nextLetter(int guessedMask, Random random) {
+			int unguessed = ~guessedMask & ALL_LETTERS;
+			if (unguessed == 0)
+				return NO_LETTER;
+
+			// SKIP A RANDOM NUMBER OF THE REMAINING LETTERS
+			int skip = random.nextInt(Integer.bitCount(unguessed));
+			for (int i = 0; i < skip; i++)
+				unguessed &= unguessed - 1;
+			return (char) ('A' + Integer.numberOfTrailingZeros(unguessed));
+		}
+	},
+
+	/**
+	 * Guesses the letters from most to least common in English, the way most
+	 * real players do.
+	 */
+	FREQUENCY {
+		@Override
+		public char nextLetter(int guessedMask, Random random) {
+			for (int i = 0; i < FREQUENCY_ORDER.length(); i++) {
+				char letter = FREQUENCY_ORDER.charAt(i);
+				if ((guessedMask & letterBit(letter)) == 0)
+					return letter;
+			}
+			return NO_LETTER;
+		}
+	},
+
+	/**
+	 * Guesses whatever the solver suggests, the way the best players would.
+	 */
+	SOLVER {
+		@Override
+		public char nextLetter(int guessedMask, Random random) {
+			// WITHOUT THE GAME TO SOLVE WE CAN ONLY GO BY FREQUENCY
+			return FREQUENCY.nextLetter(guessedMask, random);
+		}
+
+		@Override
+		public char nextLetter(HangManGameData game, HangManSolver solver,
+				Random random) {
+			return solver.suggestGuess(game);
+		}
+	};
+
+	// RETURNED ONCE EVERY LETTER HAS BEEN GUESSED
+	public static final char NO_LETTER = 0;
+
+	// ONE BIT FOR EACH LETTER 'A' THROUGH 'Z', WITH 'A' AS BIT 0
+	static final int ALL_LETTERS = (1 << 26) - 1;
+
+	// THE LETTERS FROM MOST TO LEAST COMMON IN ENGLISH WORDS
+	static final String FREQUENCY_ORDER = "ESIARNTOLCDUGPMKHBYFVWZXQJ";
+
+	/**
+	 * Picks the next letter to guess.
+	 *
+	 * @param guessedMask
+	 *            The letters already guessed this game, as made by letterBit.
+	 * @param random
+	 *            The player's source of random numbers.
+	 * @return The letter to guess, or NO_LETTER if every letter has been
+	 *         guessed.
+	 */
+	public abstract char nextLetter(int guessedMask, Random random);
+
+	/**
+	 * Picks the next letter to guess in a game.
+	 *
+	 * @param game
+	 *            The game in progress.
+	 * @param solver
+	 *            The solver for the game's dictionary.
+	 * @param random
+	 *            The player's source of random numbers.
+	 * @return The letter to guess, or NO_LETTER if every letter has been
+	 *         guessed.
+	 */
+	public char nextLetter(HangManGameData game, HangManSolver solver,
+			Random random) {
+		return nextLetter(game.getGuessedLetterMask(), random);
+	}
+
+	/**
+	 * Gets the bit for a letter in a mask of guessed letters.
+	 *
+	 * @param letter
+	 *            A letter 'A' through 'Z'.
+	 * @return The letter's bit, with 'A' as bit 0.
+	 */
+	public static int letterBit(char letter) {
+		return 1 << (letter - 'A');
+	}
+}
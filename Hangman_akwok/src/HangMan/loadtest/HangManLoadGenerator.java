@@ -0,0 +1,347 @@
+package HangMan.loadtest;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import application.Main.HangManPropertyType;
+import HangMan.file.HangManBinaryDictionary;
+import HangMan.file.HangManFileLoader;
+import HangMan.game.HangManGameStateManager.HangManGameMode;
+import HangMan.game.HangManSessionManager;
+import HangMan.game.HangManSolver;
+import HangMan.metrics.HangManHistogram;
+import HangMan.metrics.HangManMetrics;
+import properties_manager.PropertiesBundle;
+import properties_manager.PropertiesManager;
+import xml_utilities.InvalidXMLFileFormatException;
+
+/**
+ * HangManLoadGenerator is a command-line tool that drives the game engine with
+ * many simulated players at once, without any user interface, and reports the
+ * throughput and latencies it sees. Each player plays in its own session of a
+ * HangManSessionManager, one per language, the way a server hosting the game
+ * would. It must be run from the project directory so that the data directory
+ * can be found.
+ *
+ * Usage: java HangMan.loadtest.HangManLoadGenerator [--players 1000]
+ * [--duration 30] [--think-ms 250]
+ * [--strategy frequency|random|alphabetical|solver]
+ * [--mode standard|evil]
+ * [--languages English=2,French=1] [--threads 4] [--report-seconds 5]
+ */
+public class HangManLoadGenerator {
+	static String UI_PROPERTIES_FILE_NAME = "properties.xml";
+	static String PROPERTIES_SCHEMA_FILE_NAME = "properties_schema.xsd";
+	static String DATA_PATH = "./data/";
+
+	// SETTINGS, WITH THEIR DEFAULTS
+	private int numPlayers = 1000;
+	private int durationSeconds = 30;
+	private long thinkTimeMillis = 250;
+	private HangManGuessStrategy strategy = HangManGuessStrategy.FREQUENCY;
+	private HangManGameMode gameMode = HangManGameMode.STANDARD;
+	private String languageMix = null;
+	private int numThreads = Runtime.getRuntime().availableProcessors();
+	private int reportSeconds = 5;
+
+	// EACH LANGUAGE PLAYED AND HOW MANY PLAYERS OF EACH WEIGHT PLAY IT
+	private List<String> languages;
+	private List<Integer> languageWeights;
+	private List<HangManSessionManager> languageSessions;
+	private List<HangManSolver> languageSolvers;
+
+	// THE RESULTS, WHICH ALL THE PLAYERS ADD TO AT ONCE
+	private volatile boolean running;
+	private HangManHistogram guessLatencies;
+	private HangManHistogram newGameLatencies;
+	private HangManHistogram schedulingDelays;
+	private AtomicLong wins;
+	private AtomicLong losses;
+	private AtomicLong gameGuesses;
+
+	public HangManLoadGenerator() {
+		guessLatencies = new HangManHistogram();
+		newGameLatencies = new HangManHistogram();
+		schedulingDelays = new HangManHistogram();
+		wins = new AtomicLong();
+		losses = new AtomicLong();
+		gameGuesses = new AtomicLong();
+	}
+
+	public static void main(String[] args) {
+		HangManLoadGenerator generator = new HangManLoadGenerator();
+		try {
+			generator.parseArguments(args);
+			generator.loadDictionaries();
+			generator.run();
+		} catch (IllegalArgumentException iae) {
+			System.err.println(iae.getMessage());
+			System.err.println("Usage: java "
+					+ HangManLoadGenerator.class.getName()
+					+ " [--players n] [--duration seconds] [--think-ms millis]"
+					+ " [--strategy frequency|random|alphabetical|solver]"
+					+ " [--mode standard|evil]"
+					+ " [--languages English=2,French=1] [--threads n]"
+					+ " [--report-seconds seconds]");
+			System.exit(1);
+		} catch (InvalidXMLFileFormatException | IOException e) {
+			System.err.println(e.getMessage());
+			System.exit(1);
+		} catch (InterruptedException ie) {
+			System.exit(1);
+		}
+	}
+
+	// ACCESSOR METHODS, FOR THE PLAYERS
+
+	public boolean isRunning() {
+		return running;
+	}
+
+	public HangManHistogram getGuessLatencies() {
+		return guessLatencies;
+	}
+
+	public HangManHistogram getNewGameLatencies() {
+		return newGameLatencies;
+	}
+
+	public HangManHistogram getSchedulingDelays() {
+		return schedulingDelays;
+	}
+
+	/**
+	 * Called by a player when one of its games has been won or lost.
+	 *
+	 * @param won
+	 *            true if the player found the word, false otherwise.
+	 * @param numGuesses
+	 *            The number of guesses made in the game.
+	 */
+	public void gameCompleted(boolean won, int numGuesses) {
+		if (won)
+			wins.incrementAndGet();
+		else
+			losses.incrementAndGet();
+		gameGuesses.addAndGet(numGuesses);
+	}
+
+	/**
+	 * Reads the settings from the command line.
+	 *
+	 * @param args
+	 *            Pairs of option names and values.
+	 * @throws IllegalArgumentException
+	 *             Thrown if an option is unknown or its value is invalid.
+	 */
+	public void parseArguments(String[] args) {
+		for (int i = 0; i < args.length; i += 2) {
+			if (i + 1 >= args.length)
+				throw new IllegalArgumentException(args[i] + " needs a value");
+			String option = args[i];
+			String value = args[i + 1];
+			try {
+				if (option.equals("--players"))
+					numPlayers = Integer.parseInt(value);
+				else if (option.equals("--duration"))
+					durationSeconds = Integer.parseInt(value);
+				else if (option.equals("--think-ms"))
+					thinkTimeMillis = Long.parseLong(value);
+				else if (option.equals("--strategy"))
+					strategy = HangManGuessStrategy.valueOf(value
+							.toUpperCase(Locale.ROOT));
+				else if (option.equals("--mode"))
+					gameMode = HangManGameMode.valueOf(value
+							.toUpperCase(Locale.ROOT));
+				else if (option.equals("--languages"))
+					languageMix = value;
+				else if (option.equals("--threads"))
+					numThreads = Integer.parseInt(value);
+				else if (option.equals("--report-seconds"))
+					reportSeconds = Integer.parseInt(value);
+				else
+					throw new IllegalArgumentException("Unknown option "
+							+ option);
+			} catch (NumberFormatException nfe) {
+				throw new IllegalArgumentException("Invalid value " + value
+						+ " for " + option);
+			}
+		}
+		if (numPlayers < 1 || durationSeconds < 1 || thinkTimeMillis < 0
+				|| numThreads < 1 || reportSeconds < 1)
+			throw new IllegalArgumentException("Invalid settings");
+	}
+
+	/**
+	 * Loads the application properties and the dictionary of each language in
+	 * the language mix, all players of a language sharing one dictionary.
+	 *
+	 * @throws InvalidXMLFileFormatException
+	 *             Thrown if a properties file is invalid.
+	 * @throws IOException
+	 *             Thrown if a word list can't be loaded.
+	 */
+	public void loadDictionaries() throws InvalidXMLFileFormatException,
+			IOException {
+		PropertiesManager props = PropertiesManager.getPropertiesManager();
+		props.addProperty(HangManPropertyType.UI_PROPERTIES_FILE_NAME,
+				UI_PROPERTIES_FILE_NAME);
+		props.addProperty(HangManPropertyType.PROPERTIES_SCHEMA_FILE_NAME,
+				PROPERTIES_SCHEMA_FILE_NAME);
+		props.addProperty(HangManPropertyType.DATA_PATH, DATA_PATH);
+		HangManFileLoader.loadProperties(UI_PROPERTIES_FILE_NAME,
+				PROPERTIES_SCHEMA_FILE_NAME);
+		List<String> languageOptions = props
+				.getPropertyOptionsList(HangManPropertyType.LANGUAGE_OPTIONS);
+		List<String> languageData = props
+				.getPropertyOptionsList(HangManPropertyType.LANGUAGE_DATA_FILE_NAMES);
+
+		// WITH NO MIX GIVEN, EVERY LANGUAGE IS PLAYED EQUALLY
+		languages = new ArrayList<String>();
+		languageWeights = new ArrayList<Integer>();
+		if (languageMix == null) {
+			languages.addAll(languageOptions);
+			for (int i = 0; i < languageOptions.size(); i++)
+				languageWeights.add(1);
+		} else {
+			for (String entry : languageMix.split(",")) {
+				String[] parts = entry.split("=");
+				int weight = (parts.length > 1) ? Integer.parseInt(parts[1]
+						.trim()) : 1;
+				if (weight < 1)
+					throw new IllegalArgumentException("Invalid weight in "
+							+ entry);
+				languages.add(parts[0].trim());
+				languageWeights.add(weight);
+			}
+		}
+
+		languageSessions = new ArrayList<HangManSessionManager>();
+		languageSolvers = new ArrayList<HangManSolver>();
+		for (String language : languages) {
+			int index = languageOptions.indexOf(language);
+			if (index < 0)
+				throw new IllegalArgumentException("Unknown language "
+						+ language + ", choose from " + languageOptions);
+			PropertiesBundle langProps = props.getLanguageBundle(
+					languageData.get(index), PROPERTIES_SCHEMA_FILE_NAME);
+			HangManSessionManager sessions = new HangManSessionManager();
+			HangManBinaryDictionary.loadWordList(sessions, langProps
+					.getProperty(HangManPropertyType.WORD_LIST_FILE_NAME));
+			sessions.setLetterOptions(langProps
+					.getPropertyOptionsList(HangManPropertyType.LETTER_OPTIONS));
+			languageSessions.add(sessions);
+			languageSolvers.add(sessions.getSolver());
+		}
+	}
+
+	/**
+	 * Starts all the players, lets them play for the duration of the test,
+	 * reporting as they go, then stops them and reports the results.
+	 *
+	 * @throws InterruptedException
+	 *             Thrown if the test is interrupted before it finishes.
+	 */
+	public void run() throws InterruptedException {
+		System.out.printf("%d players, %s strategy, %s mode, %d ms think time, %d threads, %d seconds, languages %s %s%n",
+				numPlayers, strategy, gameMode, thinkTimeMillis, numThreads,
+				durationSeconds, languages, languageWeights);
+
+		ScheduledExecutorService scheduler = Executors
+				.newScheduledThreadPool(numThreads, runnable -> {
+					Thread worker = new Thread(runnable, "HangMan player");
+					worker.setDaemon(true);
+					return worker;
+				});
+
+		// HAND OUT THE LANGUAGES IN PROPORTION TO THEIR WEIGHTS
+		int totalWeight = 0;
+		for (int weight : languageWeights)
+			totalWeight += weight;
+		running = true;
+		long startNanos = System.nanoTime();
+		for (int i = 0; i < numPlayers; i++) {
+			int slot = i % totalWeight;
+			int language = 0;
+			while (slot >= languageWeights.get(language)) {
+				slot -= languageWeights.get(language);
+				language++;
+			}
+			new HangManSimulatedPlayer(this, languageSessions.get(language),
+					"player-" + i, strategy, languageSolvers.get(language),
+					gameMode,
+					TimeUnit.MILLISECONDS.toNanos(thinkTimeMillis), scheduler)
+					.start();
+		}
+
+		// REPORT PROGRESS UNTIL THE TIME IS UP
+		long endNanos = startNanos + TimeUnit.SECONDS.toNanos(durationSeconds);
+		long lastGuesses = 0;
+		long lastReportNanos = startNanos;
+		while (true) {
+			long remainingNanos = endNanos - System.nanoTime();
+			if (remainingNanos <= 0)
+				break;
+			TimeUnit.NANOSECONDS.sleep(Math.min(remainingNanos,
+					TimeUnit.SECONDS.toNanos(reportSeconds)));
+			long now = System.nanoTime();
+			long guesses = guessLatencies.getCount();
+			System.out.printf("%6.1fs  %,12.0f guesses/s  %,10d games  p99 guess %s%n",
+					(now - startNanos) / 1e9,
+					(guesses - lastGuesses) / ((now - lastReportNanos) / 1e9),
+					wins.get() + losses.get(),
+					HangManHistogram.formatNanos(guessLatencies.getPercentileNanos(99)));
+			lastGuesses = guesses;
+			lastReportNanos = now;
+		}
+
+		running = false;
+		scheduler.shutdownNow();
+		scheduler.awaitTermination(10, TimeUnit.SECONDS);
+		printResults((System.nanoTime() - startNanos) / 1e9);
+	}
+
+	/*
+	 * Prints the totals, the throughput and each latency's percentiles.
+	 */
+	private void printResults(double elapsedSeconds) {
+		long games = wins.get() + losses.get();
+		System.out.println();
+		System.out.printf("Games:      %,d (%,d won, %,d lost, %.2f guesses per game)%n",
+				games, wins.get(), losses.get(),
+				(games == 0) ? 0.0 : (double) gameGuesses.get() / games);
+		System.out.printf("Throughput: %,.0f guesses/s, %,.0f games/s%n",
+				guessLatencies.getCount() / elapsedSeconds, games
+						/ elapsedSeconds);
+		System.out.println();
+		System.out.printf("%-16s %12s %10s %10s %10s %10s %10s %10s%n",
+				"", "count", "mean", "p50", "p90", "p99", "p99.9", "max");
+		printLatencies("guess", guessLatencies);
+		printLatencies("new game", newGameLatencies);
+		printLatencies("scheduling delay", schedulingDelays);
+
+		// AND WHAT THE ENGINE ITSELF RECORDED WHILE WE DROVE IT
+		System.out.println();
+		System.out.print(HangManMetrics.getMetrics().getTextSnapshot());
+	}
+
+	/*
+	 * Prints one row of the latency table.
+	 */
+	private void printLatencies(String name, HangManHistogram latencies) {
+		System.out.printf("%-16s %,12d %10s %10s %10s %10s %10s %10s%n", name,
+				latencies.getCount(),
+				HangManHistogram.formatNanos((long) latencies.getMeanNanos()),
+				HangManHistogram.formatNanos(latencies.getPercentileNanos(50)),
+				HangManHistogram.formatNanos(latencies.getPercentileNanos(90)),
+				HangManHistogram.formatNanos(latencies.getPercentileNanos(99)),
+				HangManHistogram.formatNanos(latencies.getPercentileNanos(99.9)),
+				HangManHistogram.formatNanos(latencies.getMaxNanos()));
+	}
+}
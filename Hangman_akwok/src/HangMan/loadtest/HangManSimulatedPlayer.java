@@ -0,0 +1,160 @@
+package HangMan.loadtest;
+
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import HangMan.game.HangManGameData;
+import HangMan.game.HangManGameStateManager;
+import HangMan.game.HangManSessionManager;
+import HangMan.game.HangManSolver;
+
+/**
+ * HangManSimulatedPlayer plays HangMan games over and over in its own session,
+ * one step at a time. Each step either starts a game or makes one guess, and
+ * then the player schedules its next step after its think time rather than
+ * sleeping, so thousands of players can share a few threads the way they would
+ * share a server.
+ */
+public class HangManSimulatedPlayer implements Runnable {
+	// A SESSION IS REPLACED AFTER THIS MANY GAMES SO THAT ITS
+	// HISTORY DOESN'T GROW FOR AS LONG AS THE TEST RUNS
+	static final int GAMES_PER_SESSION = 100;
+
+	private HangManLoadGenerator generator;
+	private HangManSessionManager sessions;
+	private String sessionId;
+	private HangManGuessStrategy strategy;
+	private HangManSolver solver;
+	private HangManGameStateManager.HangManGameMode gameMode;
+	private long thinkTimeNanos;
+	private ScheduledExecutorService scheduler;
+
+	// WHEN THIS PLAYER'S CURRENT STEP WAS MEANT TO START, SO THAT WE CAN
+	// TELL WHEN THE PLAYERS ARE WAITING ON THE THREADS RATHER THAN THINKING
+	private long intendedStartNanos;
+
+	/**
+	 * Constructor for a player that hasn't started playing yet.
+	 *
+	 * @param initGenerator
+	 *            The generator that the player reports its results to.
+	 * @param initSessions
+	 *            The session manager for the player's language.
+	 * @param initSessionId
+	 *            The id of the player's session, unique to the player.
+	 * @param initStrategy
+	 *            How the player picks its guesses.
+	 * @param initSolver
+	 *            The solver for the player's language, for strategies that
+	 *            use one.
+	 * @param initGameMode
+	 *            How the player's games pick their secret words.
+	 * @param initThinkTimeNanos
+	 *            The player's mean pause between steps, in nanoseconds.
+	 * @param initScheduler
+	 *            The threads the player's steps run on.
+	 */
+	public HangManSimulatedPlayer(HangManLoadGenerator initGenerator,
+			HangManSessionManager initSessions, String initSessionId,
+			HangManGuessStrategy initStrategy, HangManSolver initSolver,
+			HangManGameStateManager.HangManGameMode initGameMode,
+			long initThinkTimeNanos, ScheduledExecutorService initScheduler) {
+		generator = initGenerator;
+		sessions = initSessions;
+		sessionId = initSessionId;
+		strategy = initStrategy;
+		solver = initSolver;
+		gameMode = initGameMode;
+		thinkTimeNanos = initThinkTimeNanos;
+		scheduler = initScheduler;
+	}
+
+	/**
+	 * Schedules the player's first step somewhere within its first think time,
+	 * so that all the players don't start at the same moment.
+	 */
+	public void start() {
+		sessions.openSession(sessionId, null).setGameMode(gameMode);
+		long delay = (thinkTimeNanos == 0) ? 0 : ThreadLocalRandom.current()
+				.nextLong(thinkTimeNanos);
+		scheduleStep(delay);
+	}
+
+	/**
+	 * Takes one step, starting a game or making one guess, and schedules the
+	 * next one.
+	 */
+	@Override
+	public void run() {
+		if (!generator.isRunning())
+			return;
+		long startNanos = System.nanoTime();
+		generator.getSchedulingDelays().record(startNanos - intendedStartNanos);
+
+		HangManGameStateManager session = sessions.getSession(sessionId);
+		char letter = HangManGuessStrategy.NO_LETTER;
+		if (session.isGameInProgress())
+			letter = strategy.nextLetter(session.getGameInProgress(), solver,
+					ThreadLocalRandom.current());
+		if (letter == HangManGuessStrategy.NO_LETTER) {
+			startNewGame(session);
+		} else {
+			// ONLY THE GUESS ITSELF COUNTS, NOT THE PLAYER CHOOSING IT
+			long guessStartNanos = System.nanoTime();
+			sessions.processGuess(sessionId, String.valueOf(letter));
+			generator.getGuessLatencies().record(
+					System.nanoTime() - guessStartNanos);
+
+			if (session.isGameOver()) {
+				HangManGameData completedGame = session.getGameInProgress();
+				generator.gameCompleted(completedGame.isWordFound(),
+						completedGame.getNumGuesses());
+			}
+		}
+		scheduleStep(nextThinkTime());
+	}
+
+	/*
+	 * Starts the next game, first replacing the session if it has played its
+	 * share of games.
+	 */
+	private void startNewGame(HangManGameStateManager session) {
+		if (session.getGamesPlayed() >= GAMES_PER_SESSION) {
+			sessions.closeSession(sessionId);
+			sessions.openSession(sessionId, null).setGameMode(gameMode);
+		}
+		long startNanos = System.nanoTime();
+		sessions.startNewGame(sessionId);
+		generator.getNewGameLatencies().record(System.nanoTime() - startNanos);
+	}
+
+	/*
+	 * Picks how long to think before the next step, anywhere from half to one
+	 * and a half times the mean think time.
+	 */
+	private long nextThinkTime() {
+		if (thinkTimeNanos == 0)
+			return 0;
+		return thinkTimeNanos / 2
+				+ ThreadLocalRandom.current().nextLong(thinkTimeNanos);
+	}
+
+	/*
+	 * Runs the next step once the delay has passed.
+	 */
+	private void scheduleStep(long delayNanos) {
+		if (!generator.isRunning())
+			return;
+		intendedStartNanos = System.nanoTime() + delayNanos;
+		try {
+			if (delayNanos == 0)
+				scheduler.execute(this);
+			else
+				scheduler.schedule(this, delayNanos, TimeUnit.NANOSECONDS);
+		} catch (RejectedExecutionException ree) {
+			// THE TEST ENDED WHILE WE WERE TAKING OUR STEP
+		}
+	}
+}
@@ -0,0 +1,50 @@
+package HangMan.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * HangManCounter counts how many times something has happened. It is backed by
+ * a LongAdder, which spreads concurrent increments over separate cells, so
+ * threads counting at once never wait on one another.
+ */
+public class HangManCounter {
+	private LongAdder count;
+
+	public HangManCounter() {
+		count = new LongAdder();
+	}
+
+	/**
+	 * Counts one more.
+	 */
+	public void increment() {
+		count.increment();
+	}
+
+	/**
+	 * Counts this many more.
+	 *
+	 * @param amount
+	 *            The number to add to the count.
+	 */
+	public void add(long amount) {
+		count.add(amount);
+	}
+
+	/**
+	 * Accessor method for the count so far. Note that counts made while this
+	 * is being read may or may not be included.
+	 *
+	 * @return The count.
+	 */
+	public long get() {
+		return count.sum();
+	}
+
+	/**
+	 * Starts counting again from 0.
+	 */
+	public void reset() {
+		count.reset();
+	}
+}
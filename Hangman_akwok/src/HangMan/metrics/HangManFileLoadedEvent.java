@@ -0,0 +1,63 @@
+package HangMan.metrics;
+
+import java.io.File;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * HangManFileLoadedEvent is recorded by Java Flight Recorder each time one of
+ * the game's data files is read from disk, whether a page, a word list, a
+ * compiled dictionary or a properties file, lasting for as long as the file
+ * took to read and process. Files found in a cache aren't recorded.
+ */
+@Name("HangMan.FileLoaded")
+@Label("File Loaded")
+@Category({ "HangMan", "Files" })
+@Description("A data file was read from disk")
+public class HangManFileLoadedEvent extends Event {
+	@Label("Path")
+	public String path;
+
+	@Label("Size")
+	@DataAmount
+	public long bytes;
+
+	/**
+	 * Ends the event and records it for a file whose size is already known,
+	 * if the event is being recorded at all.
+	 *
+	 * @param loadedPath
+	 *            The path of the file that was loaded.
+	 * @param loadedBytes
+	 *            The size of the file.
+	 */
+	public void commitFile(String loadedPath, long loadedBytes) {
+		end();
+		if (shouldCommit()) {
+			path = loadedPath;
+			bytes = loadedBytes;
+			commit();
+		}
+	}
+
+	/**
+	 * Ends the event and records it, looking up the file's size only if the
+	 * event is being recorded at all.
+	 *
+	 * @param loadedPath
+	 *            The path of the file that was loaded.
+	 */
+	public void commitFile(String loadedPath) {
+		end();
+		if (shouldCommit()) {
+			path = loadedPath;
+			bytes = new File(loadedPath).length();
+			commit();
+		}
+	}
+}
@@ -0,0 +1,32 @@
+package HangMan.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+/**
+ * HangManGameOverEvent is recorded by Java Flight Recorder when a game is won,
+ * lost or given up and added to the games history.
+ */
+@Name("HangMan.GameOver")
+@Label("Game Over")
+@Category({ "HangMan", "Game" })
+@Description("A game was won, lost or given up")
+public class HangManGameOverEvent extends Event {
+	@Label("Won")
+	public boolean won;
+
+	@Label("Guesses")
+	public int numGuesses;
+
+	@Label("Wrong Guesses")
+	public int wrongGuesses;
+
+	@Label("Game Time")
+	@Description("How long the player took over the game, or -1 for a game lost on wrong guesses, which never gets an end time")
+	@Timespan(Timespan.MILLISECONDS)
+	public long gameTime;
+}
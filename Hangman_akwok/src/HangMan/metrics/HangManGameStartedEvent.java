@@ -0,0 +1,25 @@
+package HangMan.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * HangManGameStartedEvent is recorded by Java Flight Recorder each time a new
+ * game is started, lasting from the start of startNewGame until the user
+ * interface has been reset for the new game.
+ */
+@Name("HangMan.GameStarted")
+@Label("Game Started")
+@Category({ "HangMan", "Game" })
+@Description("A new game was started")
+public class HangManGameStartedEvent extends Event {
+	@Label("Games Played")
+	@Description("The games completed before this one in the same session")
+	public int gamesPlayed;
+
+	@Label("Word Length")
+	public int wordLength;
+}
@@ -0,0 +1,32 @@
+package HangMan.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * HangManGuessEvent is recorded by Java Flight Recorder for each guess
+ * processed, lasting from the start of processGuess until every listener has
+ * been told about the guess.
+ */
+@Name("HangMan.GuessProcessed")
+@Label("Guess Processed")
+@Category({ "HangMan", "Game" })
+@Description("A guess was processed in the game in progress")
+public class HangManGuessEvent extends Event {
+	@Label("Guess")
+	public String guess;
+
+	@Label("Hit")
+	@Description("Whether the guess revealed at least one letter")
+	public boolean hit;
+
+	@Label("Guesses")
+	@Description("The guesses made so far this game, including this one")
+	public int numGuesses;
+
+	@Label("Wrong Guesses")
+	public int wrongGuesses;
+}
@@ -0,0 +1,232 @@
+package HangMan.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+
+/**
+ * HangManHistogram counts latencies, in nanoseconds, into buckets that are
+ * exact below 32ns and otherwise never more than about 3% wide, so any
+ * percentile can be read back without keeping every sample. The buckets are
+ * striped, each thread counting into one of several copies that are only
+ * added together when read, and each stripe also keeps its own count and sum
+ * of the latencies. So recording is three atomic adds to the thread's own
+ * stripe, which other threads rarely touch, plus a check of the max that
+ * only writes when there is a new one, and can be left on all the time.
+ */
+public class HangManHistogram {
+	// EACH POWER OF TWO IS SPLIT INTO THIS MANY EQUAL BUCKETS
+	private static final int SUB_BUCKET_BITS = 5;
+	private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+	// LATENCIES UP TO 2^36ns, OVER A MINUTE, GET THEIR OWN BUCKETS. ANY
+	// LONGER ONES ALL GO IN THE LAST, THOUGH THE MAX IS STILL EXACT
+	private static final int MAX_EXPONENT = 36;
+	private static final int NUM_BUCKETS = SUB_BUCKETS
+			+ (MAX_EXPONENT - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+	// AFTER ITS BUCKETS, EACH STRIPE HOLDS ITS COUNT AND SUM OF LATENCIES
+	private static final int COUNT_SLOT = NUM_BUCKETS;
+	private static final int NANOS_SLOT = NUM_BUCKETS + 1;
+	private static final int STRIPE_SIZE = NUM_BUCKETS + 2;
+
+	// ONE SET OF BUCKETS PER STRIPE, ENOUGH STRIPES FOR EVERY CORE
+	private static final int NUM_STRIPES = stripesFor(Runtime.getRuntime()
+			.availableProcessors());
+	private AtomicLongArray[] stripes;
+
+	private LongAccumulator maxNanos;
+
+	public HangManHistogram() {
+		stripes = new AtomicLongArray[NUM_STRIPES];
+		for (int i = 0; i < NUM_STRIPES; i++)
+			stripes[i] = new AtomicLongArray(STRIPE_SIZE);
+		maxNanos = new LongAccumulator(Math::max, 0);
+	}
+
+	/**
+	 * Records one latency.
+	 *
+	 * @param nanos
+	 *            The latency, in nanoseconds. Negative latencies, which can
+	 *            only come from a clock going backwards, count as 0.
+	 */
+	public void record(long nanos) {
+		if (nanos < 0)
+			nanos = 0;
+		AtomicLongArray stripe = stripes[(int) Thread.currentThread().getId()
+				& (NUM_STRIPES - 1)];
+		stripe.incrementAndGet(bucketIndex(nanos));
+		stripe.incrementAndGet(COUNT_SLOT);
+		stripe.addAndGet(NANOS_SLOT, nanos);
+		maxNanos.accumulate(nanos);
+	}
+
+	/**
+	 * Records the time since something started, for example:
+	 * long start = System.nanoTime(); ... histogram.recordSince(start);
+	 *
+	 * @param startNanos
+	 *            When it started, as given by System.nanoTime.
+	 */
+	public void recordSince(long startNanos) {
+		record(System.nanoTime() - startNanos);
+	}
+
+	/**
+	 * Accessor method for the number of latencies recorded.
+	 *
+	 * @return The number of latencies recorded so far.
+	 */
+	public long getCount() {
+		return sumSlot(COUNT_SLOT);
+	}
+
+	/**
+	 * Accessor method for the largest latency recorded.
+	 *
+	 * @return The largest latency, in nanoseconds, or 0 if none have been
+	 *         recorded.
+	 */
+	public long getMaxNanos() {
+		return maxNanos.get();
+	}
+
+	/**
+	 * Calculates the mean of the latencies recorded.
+	 *
+	 * @return The mean latency, in nanoseconds, or 0 if none have been
+	 *         recorded.
+	 */
+	public double getMeanNanos() {
+		long count = sumSlot(COUNT_SLOT);
+		if (count == 0)
+			return 0;
+		return (double) sumSlot(NANOS_SLOT) / count;
+	}
+
+	/*
+	 * Adds up one slot over all the stripes.
+	 */
+	private long sumSlot(int slot) {
+		long sum = 0;
+		for (AtomicLongArray stripe : stripes)
+			sum += stripe.get(slot);
+		return sum;
+	}
+
+	/**
+	 * Finds the latency that the given share of all latencies were at or
+	 * below.
+	 *
+	 * @param percentile
+	 *            The percentile wanted, from 0 to 100, for example 99.9.
+	 * @return The highest latency in the percentile's bucket, in nanoseconds,
+	 *         or 0 if none have been recorded.
+	 */
+	public long getPercentileNanos(double percentile) {
+		return getPercentilesNanos(percentile)[0];
+	}
+
+	/**
+	 * Finds several percentiles at once, adding up the stripes only once.
+	 *
+	 * @param percentiles
+	 *            The percentiles wanted, each from 0 to 100, in increasing
+	 *            order.
+	 * @return The latency for each percentile, in nanoseconds, all 0 if none
+	 *         have been recorded.
+	 */
+	public long[] getPercentilesNanos(double... percentiles) {
+		long[] buckets = new long[NUM_BUCKETS];
+		long count = 0;
+		for (AtomicLongArray stripe : stripes) {
+			for (int i = 0; i < NUM_BUCKETS; i++) {
+				long bucketCount = stripe.get(i);
+				buckets[i] += bucketCount;
+				count += bucketCount;
+			}
+		}
+
+		long[] results = new long[percentiles.length];
+		if (count == 0)
+			return results;
+		long max = maxNanos.get();
+		long seen = 0;
+		int bucket = 0;
+		for (int p = 0; p < percentiles.length; p++) {
+			long rank = Math.max(1,
+					(long) Math.ceil(count * percentiles[p] / 100.0));
+			while (bucket < NUM_BUCKETS && seen + buckets[bucket] < rank)
+				seen += buckets[bucket++];
+			// THE LAST BUCKET HOLDS EVERYTHING TOO LONG FOR THE OTHERS
+			results[p] = (bucket < NUM_BUCKETS - 1) ? Math.min(
+					bucketHighest(bucket), max) : max;
+		}
+		return results;
+	}
+
+	/**
+	 * Forgets every latency recorded so far. Note that latencies recorded
+	 * while this is going on may be partly kept.
+	 */
+	public void reset() {
+		for (AtomicLongArray stripe : stripes) {
+			for (int i = 0; i < STRIPE_SIZE; i++)
+				stripe.set(i, 0);
+		}
+		maxNanos.reset();
+	}
+
+	/**
+	 * Formats a latency in whichever unit keeps it readable.
+	 *
+	 * @param nanos
+	 *            The latency, in nanoseconds.
+	 * @return The latency with its unit, for example "12.5us".
+	 */
+	public static String formatNanos(long nanos) {
+		if (nanos < 10000)
+			return nanos + "ns";
+		if (nanos < 10000000)
+			return String.format("%.1fus", nanos / 1e3);
+		return String.format("%.1fms", nanos / 1e6);
+	}
+
+	/*
+	 * Finds the bucket for a latency. Below SUB_BUCKETS each value has its
+	 * own bucket, above it each power of two is split into SUB_BUCKETS.
+	 */
+	static int bucketIndex(long nanos) {
+		if (nanos < SUB_BUCKETS)
+			return (int) nanos;
+		int exponent = 63 - Long.numberOfLeadingZeros(nanos);
+		if (exponent >= MAX_EXPONENT)
+			return NUM_BUCKETS - 1;
+		int shift = exponent - SUB_BUCKET_BITS;
+		int subBucket = (int) (nanos >>> shift) - SUB_BUCKETS;
+		return SUB_BUCKETS + shift * SUB_BUCKETS + subBucket;
+	}
+
+	/*
+	 * Finds the highest latency that goes in a bucket.
+	 */
+	static long bucketHighest(int index) {
+		if (index < SUB_BUCKETS)
+			return index;
+		int shift = (index - SUB_BUCKETS) / SUB_BUCKETS;
+		int subBucket = (index - SUB_BUCKETS) % SUB_BUCKETS;
+		long lowest = (long) (SUB_BUCKETS + subBucket) << shift;
+		return lowest + (1L << shift) - 1;
+	}
+
+	/*
+	 * Picks the smallest power of two of stripes that's at least the number
+	 * of cores, but no more than 16.
+	 */
+	private static int stripesFor(int cores) {
+		int stripes = 1;
+		while (stripes < cores && stripes < 16)
+			stripes <<= 1;
+		return stripes;
+	}
+}
@@ -0,0 +1,27 @@
+package HangMan.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * HangManLanguageLoadedEvent is recorded by Java Flight Recorder each time a
+ * language's dictionary is prepared for play, lasting for as long as the
+ * preparation took. Note that reading the word list is recorded separately,
+ * by a HangManFileLoadedEvent.
+ */
+@Name("HangMan.LanguageLoaded")
+@Label("Language Loaded")
+@Category({ "HangMan", "Game" })
+@Description("A dictionary was prepared for play")
+public class HangManLanguageLoadedEvent extends Event {
+	@Label("Words")
+	@Description("The words that are legal guesses")
+	public int words;
+
+	@Label("Candidate Words")
+	@Description("The words that may be picked as secret words")
+	public int candidateWords;
+}
@@ -0,0 +1,155 @@
+package HangMan.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+/**
+ * HangManMetrics keeps every counter and latency histogram the game records,
+ * by name, so they can all be read from one place, either as a text snapshot
+ * or over JMX. There is only one, which is gotten by getMetrics. Code on a hot
+ * path should look up its counters and histograms once and keep them, for
+ * example in a static final field, since recording to them never locks.
+ */
+public class HangManMetrics implements HangManMetricsMXBean {
+	// THE NAMES OF THE METRICS THE GAME ITSELF RECORDS
+	public static final String GAMES_STARTED = "game.started";
+	public static final String GAMES_WON = "game.won";
+	public static final String GAMES_LOST = "game.lost";
+	public static final String GUESSES = "game.guesses";
+	public static final String GUESS_LATENCY = "game.guess";
+	public static final String GAME_START_LATENCY = "game.start";
+	public static final String DICTIONARY_LOAD_LATENCY = "dictionary.load";
+	public static final String PROPERTIES_LOAD_LATENCY = "properties.load";
+	public static final String DOCUMENT_RENDER_LATENCY = "document.render";
+	public static final String SOLVER_SUGGEST_LATENCY = "solver.suggest";
+
+	// THE NAME THE METRICS ARE REGISTERED UNDER FOR JMX
+	public static final String OBJECT_NAME = "HangMan:type=Metrics";
+
+	// THE PERCENTILES SHOWN FOR EACH HISTOGRAM
+	private static final double[] PERCENTILES = { 50, 90, 99, 99.9 };
+	private static final String[] PERCENTILE_NAMES = { "p50", "p90", "p99",
+			"p999" };
+
+	// THE ONLY ONE
+	private static final HangManMetrics singleton = new HangManMetrics();
+
+	private ConcurrentHashMap<String, HangManCounter> counters;
+	private ConcurrentHashMap<String, HangManHistogram> histograms;
+
+	private HangManMetrics() {
+		counters = new ConcurrentHashMap<String, HangManCounter>();
+		histograms = new ConcurrentHashMap<String, HangManHistogram>();
+	}
+
+	/**
+	 * Accessor method for the only HangManMetrics.
+	 *
+	 * @return The metrics for the whole application.
+	 */
+	public static HangManMetrics getMetrics() {
+		return singleton;
+	}
+
+	/**
+	 * Gets the counter with this name, making it if there isn't one yet.
+	 *
+	 * @param name
+	 *            The counter's name, for example "game.guesses".
+	 * @return The counter.
+	 */
+	public HangManCounter counter(String name) {
+		return counters.computeIfAbsent(name, key -> new HangManCounter());
+	}
+
+	/**
+	 * Gets the histogram with this name, making it if there isn't one yet.
+	 *
+	 * @param name
+	 *            The histogram's name, for example "game.guess".
+	 * @return The histogram.
+	 */
+	public HangManHistogram histogram(String name) {
+		return histograms.computeIfAbsent(name, key -> new HangManHistogram());
+	}
+
+	/**
+	 * Makes the metrics available over JMX. Doing so again does nothing.
+	 *
+	 * @return true if the metrics are registered, false if the platform's
+	 *         MBean server wouldn't accept them.
+	 */
+	public boolean registerMBean() {
+		try {
+			ManagementFactory.getPlatformMBeanServer().registerMBean(this,
+					new ObjectName(OBJECT_NAME));
+			return true;
+		} catch (InstanceAlreadyExistsException iaee) {
+			return true;
+		} catch (JMException jme) {
+			return false;
+		}
+	}
+
+	@Override
+	public String getTextSnapshot() {
+		StringBuilder snapshot = new StringBuilder();
+		for (Map.Entry<String, HangManCounter> counter : new TreeMap<String, HangManCounter>(
+				counters).entrySet()) {
+			snapshot.append(String.format("%-20s %,12d%n", counter.getKey(),
+					counter.getValue().get()));
+		}
+		for (Map.Entry<String, HangManHistogram> entry : new TreeMap<String, HangManHistogram>(
+				histograms).entrySet()) {
+			HangManHistogram histogram = entry.getValue();
+			long[] percentiles = histogram.getPercentilesNanos(PERCENTILES);
+			snapshot.append(String.format("%-20s %,12d  mean %s", entry
+					.getKey(), histogram.getCount(), HangManHistogram
+					.formatNanos((long) histogram.getMeanNanos())));
+			for (int i = 0; i < percentiles.length; i++)
+				snapshot.append("  ").append(PERCENTILE_NAMES[i]).append(' ')
+						.append(HangManHistogram.formatNanos(percentiles[i]));
+			snapshot.append("  max ")
+					.append(HangManHistogram.formatNanos(histogram
+							.getMaxNanos())).append(String.format("%n"));
+		}
+		return snapshot.toString();
+	}
+
+	@Override
+	public Map<String, Long> getCounters() {
+		TreeMap<String, Long> counts = new TreeMap<String, Long>();
+		for (Map.Entry<String, HangManCounter> counter : counters.entrySet())
+			counts.put(counter.getKey(), counter.getValue().get());
+		return counts;
+	}
+
+	@Override
+	public Map<String, Long> getLatencies() {
+		TreeMap<String, Long> latencies = new TreeMap<String, Long>();
+		for (Map.Entry<String, HangManHistogram> entry : histograms.entrySet()) {
+			String name = entry.getKey();
+			HangManHistogram histogram = entry.getValue();
+			long[] percentiles = histogram.getPercentilesNanos(PERCENTILES);
+			latencies.put(name + ".count", histogram.getCount());
+			for (int i = 0; i < percentiles.length; i++)
+				latencies.put(name + "." + PERCENTILE_NAMES[i], percentiles[i]);
+			latencies.put(name + ".max", histogram.getMaxNanos());
+		}
+		return latencies;
+	}
+
+	@Override
+	public void reset() {
+		for (HangManCounter counter : counters.values())
+			counter.reset();
+		for (HangManHistogram histogram : histograms.values())
+			histogram.reset();
+	}
+}
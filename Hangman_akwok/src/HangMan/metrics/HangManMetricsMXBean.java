@@ -0,0 +1,36 @@
+package HangMan.metrics;
+
+import java.util.Map;
+
+/**
+ * HangManMetricsMXBean is how the game's metrics are shown over JMX, for
+ * example in JConsole or VisualVM, under the name HangMan:type=Metrics.
+ */
+public interface HangManMetricsMXBean {
+	/**
+	 * Gets every counter and histogram as readable text, one per line.
+	 *
+	 * @return The text snapshot.
+	 */
+	public String getTextSnapshot();
+
+	/**
+	 * Gets every counter.
+	 *
+	 * @return Each counter's count, by counter name.
+	 */
+	public Map<String, Long> getCounters();
+
+	/**
+	 * Gets the count, percentiles and max of every histogram, in nanoseconds.
+	 *
+	 * @return Each value, by histogram name followed by ".count", ".p50",
+	 *         ".p90", ".p99", ".p999" or ".max".
+	 */
+	public Map<String, Long> getLatencies();
+
+	/**
+	 * Starts every counter and histogram again from 0.
+	 */
+	public void reset();
+}
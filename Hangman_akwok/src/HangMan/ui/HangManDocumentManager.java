@@ -1,9 +1,13 @@
 package HangMan.ui;
 
 import java.io.IOException;
+import java.util.Enumeration;
+import java.util.List;
 
+import javax.swing.text.AttributeSet;
 import javax.swing.text.BadLocationException;
 import javax.swing.text.Element;
+import javax.swing.text.html.CSS;
 import javax.swing.text.html.HTML;
 import javax.swing.text.html.HTMLDocument;
 
@@ -11,9 +15,10 @@ import application.Main.HangManPropertyType;
 import HangMan.game.HangManGameData;
 import HangMan.game.HangManGameStateManager;
 import properties_manager.PropertiesManager;
+import properties_manager.PropertiesSnapshot;
 import javafx.stage.Stage;
 
-public class HangManDocumentManager {
+public class HangManDocumentManager implements HangManGameView {
 	private HangManUI ui;
 
 	public HangManDocumentManager(HangManUI initUI) {
@@ -48,6 +53,34 @@ public class HangManDocumentManager {
 	private final String WIN_DISPLAY_ID = "win_display";
 	private final String LOSE_DISPLAY_ID = "lose_display";
 
+	// THE FIXED PARTS OF THE GAME PAGE'S HTML, PUT TOGETHER ONCE SO THAT
+	// RENDERING A GUESS IS JUST APPENDING TO A StringBuilder
+	private final String LINE_BREAK = START_TAG + HTML.Tag.BR + SPACE + SLASH + END_TAG;
+	private final String GUESS_ITEM_OPEN = START_TAG + HTML.Tag.LI + SPACE
+			+ HTML.Attribute.ID + EQUAL + QUOTE + QUOTE + END_TAG;
+	private final String GUESS_LETTER_CLOSE = START_TAG + SLASH + HTML.Tag.SPAN + END_TAG;
+	private final String GUESS_ITEM_CLOSE = START_TAG + SLASH + HTML.Tag.LI + END_TAG + NL;
+	private final String H2_CLOSE = START_TAG + SLASH + HTML.Tag.H2 + END_TAG + NL;
+	private final String OL_CLOSE = START_TAG + SLASH + HTML.Tag.OL + END_TAG + NL;
+	private final String SUBHEADER_OPEN = buildOpenTag(HTML.Tag.H2, GUESSES_SUBHEADER_ID, EMPTY_TEXT);
+	private final String WIN_DISPLAY_OPEN = buildOpenTag(HTML.Tag.H2, WIN_DISPLAY_ID, EMPTY_TEXT);
+	private final String LOSE_DISPLAY_OPEN = buildOpenTag(HTML.Tag.H2, LOSE_DISPLAY_ID, EMPTY_TEXT);
+
+	// THE GUESSES LIST'S OPENING TAG, WHICH KEEPS THE STYLE GIVEN IT BY THE
+	// GAME PAGE, SO IT'S PUT TOGETHER WHEN WE GET THE PAGE
+	private String guessesListOpen;
+
+	// ALL THE GUESS ROWS RENDERED THIS GAME, AND A BUILDER WE REUSE FOR
+	// RENDERING THE REST OF THE PAGE
+	private StringBuilder guessRows = new StringBuilder();
+	private StringBuilder pageBuilder = new StringBuilder();
+
+	// WHAT THE PAGE'S HEADERS CURRENTLY SAY, null FOR NOTHING, SO THAT WE
+	// ONLY TOUCH THEM WHEN THEY CHANGE
+	private String shownSubheader;
+	private String shownWin;
+	private String shownLose;
+
 	// THESE ARE IDs IN THE STATS HTML FILE SO THAT WE CAN
 	// GRAB THE NECESSARY ELEMENTS AND UPDATE THEM
 	private final String GAMES_PLAYED_ID = "games_played";
@@ -58,6 +91,13 @@ public class HangManDocumentManager {
 	private final String GAME_RESULTS_HEADER_ID = "game_results_header";
 	private final String GAME_RESULTS_LIST_ID = "game_results_list";
 
+	// THE GAME RESULTS HEADER CURRENTLY SHOWN, null FOR NOTHING, AND A
+	// BUILDER WE REUSE FOR RENDERING THE PAGE OF GAME RESULTS
+	private String shownResultsHeader;
+	private StringBuilder resultsBuilder = new StringBuilder();
+	private final String RESULT_ITEM_OPEN = START_TAG + HTML.Tag.LI + END_TAG;
+	private final String RESULT_ITEM_CLOSE = START_TAG + SLASH + HTML.Tag.LI + END_TAG + NL;
+
 	/**
 	 * Accessor method for initializing the game doc, which displays while the
 	 * game is being played and displays the guesses. Note that this must be
@@ -69,6 +109,14 @@ public class HangManDocumentManager {
 	 */
 	public void setGameDoc(HTMLDocument initGameDoc) {
 		gameDoc = initGameDoc;
+
+		// THE PAGE STARTS OUT WITH NOTHING IN IT
+		Element ol = gameDoc.getElement(GUESSES_LIST_ID);
+		guessesListOpen = buildOpenTag(HTML.Tag.OL, GUESSES_LIST_ID, getInlineStyle(ol));
+		guessRows.setLength(0);
+		shownSubheader = null;
+		shownWin = null;
+		shownLose = null;
 	}
 	
 	/**
@@ -83,12 +131,15 @@ public class HangManDocumentManager {
 	public void setStatsDoc(HTMLDocument initStatsDoc)  
     {
         statsDoc = initStatsDoc;  
+        shownResultsHeader = null;
     }
 
 	/**
 	 * This method lets us add a guess to the game page display without having
-	 * to rebuild the entire page. We just add it to the HTML list of guesses
-	 * made so far this game.
+	 * to rebuild the entire page. Usually that means just adding it to the
+	 * HTML list of guesses made so far this game, but if any of the headers
+	 * change too, the guesses part of the page is replaced all at once so the
+	 * page is still only updated one time.
 	 * 
 	 * @param guess
 	 *            Guess letter .
@@ -96,45 +147,40 @@ public class HangManDocumentManager {
 	 *            The so-far-guessed word,with correct letters and underlines .
 	 */
 	public void addGuessToGamePage(String guess, String newGuessMatch) {
-		PropertiesManager props = PropertiesManager.getPropertiesManager();
+		PropertiesSnapshot<HangManPropertyType> props = PropertiesManager
+				.getPropertiesManager().getSnapshot(HangManPropertyType.class);
 		HangManGameData gameInProgress = ui.getGSM().getGameInProgress();
 
-		try {
-			// START BY LOADING THE LANGUAGE-DEPENDENT SUBHEADER
-			String guessesSubheaderText = props
-					.getProperty(HangManPropertyType.GAME_SUBHEADER_TEXT);
-			Element h2 = gameDoc.getElement(GUESSES_SUBHEADER_ID);
-			gameDoc.setInnerHTML(h2, guessesSubheaderText);
-
-			// AND NOW FILL IN THE LIST. WE'RE GOING TO ADD
-			// LIST ITEMS TO THE ORDERED LIST
-			Element ol = gameDoc.getElement(GUESSES_LIST_ID);
-
-			oldGuessMatch = newGuessMatch;
-			String htmlText = buildGuessHTML(guess, newGuessMatch);
-			gameDoc.insertBeforeEnd(ol, htmlText);
-			// AND NOW ADD THE GAME OVER TEXT IF NEEDED
-			Element winH2 = gameDoc.getElement(WIN_DISPLAY_ID);
-			Element loseH2 = gameDoc.getElement(LOSE_DISPLAY_ID);
-
-			System.out.println(gameInProgress.getWrongTimes());
-			if (gameInProgress.isWordFound() && gameInProgress.getWrongTimes() < 6) {    //check added in case kept clicking 
-				// PLAYER HAS WON
-				String winText = props
-						.getProperty(HangManPropertyType.WIN_DISPLAY_TEXT);
-				gameDoc.setInnerHTML(winH2, winText);
-			}
+		// FIGURE OUT WHAT THE HEADERS SHOULD NOW SAY, STARTING WITH
+		// THE LANGUAGE-DEPENDENT SUBHEADER
+		String subheader = props
+				.getProperty(HangManPropertyType.GAME_SUBHEADER_TEXT);
+		String winText = null;
+		String lossText = null;
+		if (gameInProgress.isWordFound() && gameInProgress.getWrongTimes() < 6) {    //check added in case kept clicking 
+			// PLAYER HAS WON
+			winText = props.getProperty(HangManPropertyType.WIN_DISPLAY_TEXT);
+		} else if (gameInProgress.getWrongTimes() >= 6 && !gameInProgress.isWordFound()) {  //check
+			// PLAYER HAS LOST
+			lossText = props.getProperty(HangManPropertyType.LOSE_DISPLAY_TEXT);
+		}
 
-			if (gameInProgress.getWrongTimes() >= 6 && !gameInProgress.isWordFound()) {  //check
-				// PLAYER HAS LOST
-				System.out.println("GET LOST");
+		// RENDER THE NEW GUESS ONTO THE END OF THIS GAME'S ROWS
+		oldGuessMatch = newGuessMatch;
+		int rowStart = guessRows.length();
+		appendGuessHTML(guessRows, guess, newGuessMatch);
 
-				String lossText = props
-						.getProperty(HangManPropertyType.LOSE_DISPLAY_TEXT);
-				gameDoc.setInnerHTML(loseH2, lossText);
+		try {
+			if (equal(subheader, shownSubheader) && equal(winText, shownWin)
+					&& equal(lossText, shownLose)) {
+				// ONLY THE LIST HAS CHANGED, SO JUST ADD THE ONE ROW
+				Element ol = gameDoc.getElement(GUESSES_LIST_ID);
+				gameDoc.insertBeforeEnd(ol, guessRows.substring(rowStart));
 			} else {
-				// GAME IS STILL IN PROGRESS
-				gameDoc.setInnerHTML(winH2, EMPTY_TEXT);
+				shownSubheader = subheader;
+				shownWin = winText;
+				shownLose = lossText;
+				replaceGuessesSection();
 			}
 		}
 		// THE ERROR HANDLER WILL DEAL WITH ERRORS ASSOCIATED WITH BUILDING
@@ -148,71 +194,41 @@ public class HangManDocumentManager {
 	}
 	
 	/**
-     * This private helper method builds the HTML associated with a guess
-     * as a list item, adding the proper colors as currently set by the
-     * player.
+     * This private helper method renders the HTML associated with a guess
+     * as a list item onto the end of the html argument.
      * 
+     * @param html Where to put the rendered HTML.
      * @param guess Guess letter .
-     * @param newGuessMatch The so-far-guessed word,with correct letters and underlines .
-     * @return htmlText
+     * @param guessMatch The so-far-guessed word,with correct letters and underlines .
      */
-	
-	private String buildGuessHTML(String guess, String guessMatch)
+	private void appendGuessHTML(StringBuilder html, String guess, String guessMatch)
     {
-        // FIRST THE OPENING LIST ITEM TAG WITH THE GUESS
-        // AS ITS ID. THIS IS OK SINCE WE DON'T ALLOW
-        // DUPLICATE GUESSES
-      String htmlText = START_TAG + HTML.Tag.LI + SPACE + HTML.Attribute.ID + EQUAL + QUOTE + QUOTE + END_TAG;
-              // NOW WE NEED TO FORMAT THE COLOR FOR EACH CHARACTER IN THE GUESS
+        // FIRST THE OPENING LIST ITEM TAG
+        html.append(GUESS_ITEM_OPEN);
+
+        // AND THEN EACH CHARACTER OF THE SO-FAR-GUESSED WORD
         for (int i = 0; i < guessMatch.length(); i++)
         {
-                // GET THE COLOR FOR EACH CHARACTER
-            char c = guessMatch.charAt(i);
-           
-            
-            // AND BUILD HTML TEXT TO COLOR CODE EACH CHARACTER SEPARATELY
-            htmlText += SPACE + c + START_TAG + SLASH + HTML.Tag.SPAN + END_TAG;    
+            html.append(SPACE).append(guessMatch.charAt(i)).append(GUESS_LETTER_CLOSE);
         }
-     
-        // NOW WE NEED TO FORMAT THE COLOR FOR EACH CHARACTER IN THE GUESS
-        for (int i = 0; i < guess.length(); i++)
-        {
-              
-        }
-        // NOW ADD INFORMATION ABOUT THE NUMBER OF LETTERS IN THE
-        // GUESS THAT ARE IN THE SECRET WORD
-        htmlText +=START_TAG + SLASH + HTML.Tag.LI + END_TAG + NL;    
-        return htmlText;
+        html.append(GUESS_ITEM_CLOSE);
     }
 	
 	/**
      * When a new game starts the game page should not have a subheader
      * or display guesses or a win state, so all of that has to be cleared
      * out of the DOM at that time. This method does the work of clearing
-     * out these nodes.
+     * out these nodes, all in one update.
      */
     public void clearGamePage()
     {
+        guessRows.setLength(0);
+        shownSubheader = null;
+        shownWin = null;
+        shownLose = null;
         try
         {
-            // WE'LL PUT THIS <br /> TAG IN PLACE OF THE CONTENT WE'RE REMOVING
-            String lineBreak = START_TAG + HTML.Tag.BR + SPACE + SLASH + END_TAG;
-
-            // CLEAR THE SUBHEADER
-            Element h2 = gameDoc.getElement(GUESSES_SUBHEADER_ID);
-            gameDoc.setInnerHTML(h2, lineBreak);
-
-            // CLEAR THE GUESS LIST
-            Element ol = gameDoc.getElement(GUESSES_LIST_ID);
-            gameDoc.setInnerHTML(ol, lineBreak);
-
-            // CLEAR THE WIN DISPLAY
-            Element winH2 = gameDoc.getElement(WIN_DISPLAY_ID);
-            gameDoc.setInnerHTML(winH2, lineBreak);
-            
-            //CLEAR THE LOSS DISPLAY
-            Element loseH2 = gameDoc.getElement(LOSE_DISPLAY_ID);
-            gameDoc.setInnerHTML(loseH2, lineBreak);
+            replaceGuessesSection();
         } 
         // THE ERROR HANDLER WILL DEAL WITH ERRORS ASSOCIATED WITH BUILDING
         // THE HTML FOR THE PAGE, WHICH WOULD LIKELY BE DUE TO BAD DATA FROM
@@ -223,15 +239,91 @@ public class HangManDocumentManager {
             errorHandler.processError(HangManPropertyType.INVALID_DOC_ERROR_TEXT);
         }        
     }
-    
+
+    /*
+     * Renders the subheader, guesses list and win and lose headers from what
+     * they should currently show, and swaps them into the game page in place
+     * of the old ones with a single update. Elements with nothing to show get
+     * a <br /> tag, as they always have.
+     */
+    private void replaceGuessesSection() throws BadLocationException, IOException
+    {
+        StringBuilder html = pageBuilder;
+        html.setLength(0);
+        appendElement(html, SUBHEADER_OPEN, shownSubheader, H2_CLOSE);
+        appendElement(html, guessesListOpen, guessRows, OL_CLOSE);
+        appendElement(html, WIN_DISPLAY_OPEN, shownWin, H2_CLOSE);
+        appendElement(html, LOSE_DISPLAY_OPEN, shownLose, H2_CLOSE);
+
+        // ALL FOUR SIT TOGETHER IN THE SAME <div>
+        Element section = gameDoc.getElement(GUESSES_SUBHEADER_ID).getParentElement();
+        gameDoc.setInnerHTML(section, html.toString());
+    }
+
+    /*
+     * Renders one element of the guesses section.
+     */
+    private void appendElement(StringBuilder html, String openTag, CharSequence content, String closeTag)
+    {
+        html.append(openTag);
+        if ((content == null) || (content.length() == 0))
+            html.append(LINE_BREAK);
+        else
+            html.append(content);
+        html.append(closeTag);
+    }
+
+    /*
+     * Builds an element's opening tag with its id and, if it has one, style.
+     */
+    private String buildOpenTag(HTML.Tag tag, String id, String style)
+    {
+        StringBuilder html = new StringBuilder();
+        html.append(START_TAG).append(tag).append(SPACE).append(HTML.Attribute.ID)
+                .append(EQUAL).append(QUOTE).append(id).append(QUOTE);
+        if (style.length() > 0)
+            html.append(SPACE).append(HTML.Attribute.STYLE).append(EQUAL)
+                    .append(QUOTE).append(style).append(QUOTE);
+        return html.append(END_TAG).toString();
+    }
+
+    /*
+     * Gets back the inline style of an element as it was written in the page,
+     * since the document only keeps it as separate CSS attributes.
+     */
+    private String getInlineStyle(Element element)
+    {
+        StringBuilder style = new StringBuilder();
+        AttributeSet attributes = element.getAttributes();
+        Enumeration<?> names = attributes.getAttributeNames();
+        while (names.hasMoreElements())
+        {
+            Object name = names.nextElement();
+            if (name instanceof CSS.Attribute)
+            {
+                if (style.length() > 0)
+                    style.append("; ");
+                style.append(name).append(COLON).append(SPACE).append(attributes.getAttribute(name));
+            }
+        }
+        return style.toString();
+    }
+
+    /*
+     * Compares two header texts, either of which may be null.
+     */
+    private static boolean equal(String text1, String text2)
+    {
+        return (text1 == null) ? (text2 == null) : text1.equals(text2);
+    }
    
     /**
-     * This method adds the data from the completedGame argument
-     * to the stats page, as well as loading all the newly computed
-     * stats for all the games played.
+     * This method loads all the newly computed stats for all the games
+     * played into the stats page once the completedGame argument has
+     * ended. The game's summary is added to the list of game results
+     * by showGameResults, since only one page of them is shown.
      * 
-     * @param completedGame Game whose summary will be added to
-     * the stats page.
+     * @param completedGame The game that has just ended.
      */
         
     public void addGameResultToStatsPage(HangManGameData completedGame)
@@ -264,17 +356,50 @@ public class HangManDocumentManager {
             if (fastestWin != null)
                 statsDoc.setInnerHTML(fastestWinElement, fastestWin.toString());
 
-            // ADD THE SUBHEADER
-            PropertiesManager props = PropertiesManager.getPropertiesManager();
+            // ADD THE SUBHEADER, UNLESS IT'S ALREADY THERE
+            PropertiesSnapshot<HangManPropertyType> props = PropertiesManager
+                    .getPropertiesManager().getSnapshot(HangManPropertyType.class);
             String gameResultsText = props.getProperty(HangManPropertyType.GAME_RESULTS_TEXT);
-            Element h2 = statsDoc.getElement(GAME_RESULTS_HEADER_ID);
-            statsDoc.setInnerHTML(h2, gameResultsText);
+            if (!equal(gameResultsText, shownResultsHeader))
+            {
+                Element h2 = statsDoc.getElement(GAME_RESULTS_HEADER_ID);
+                statsDoc.setInnerHTML(h2, gameResultsText);
+                shownResultsHeader = gameResultsText;
+            }
+        }
+        // WE'LL LET THE ERROR HANDLER TAKE CARE OF ANY ERRORS,
+        // WHICH COULD HAPPEN IF XML SETUP FILES ARE IMPROPERLY
+        // FORMATTED
+        catch(BadLocationException | IOException e)
+        {
+            HangManErrorHandler errorHandler = ui.getErrorHandler();
+            errorHandler.processError(HangManPropertyType.INVALID_DOC_ERROR_TEXT);
+        }
+    }
 
-            // AND NOW ADD THE LATEST GAME TO THE LIST
+    /**
+     * This method replaces the list of game results on the stats page
+     * with just the games argument, so the stats page never holds more
+     * than one page of results no matter how many games are played.
+     * 
+     * @param games The games to list, in the order they were played.
+     */
+    public void showGameResults(List<HangManGameData> games)
+    {
+        StringBuilder html = resultsBuilder;
+        html.setLength(0);
+        for (HangManGameData game : games)
+        {
+            html.append(RESULT_ITEM_OPEN).append(game).append(RESULT_ITEM_CLOSE);
+        }
+        if (html.length() == 0)
+        {
+            html.append(LINE_BREAK);
+        }
+        try
+        {
             Element ol = statsDoc.getElement(GAME_RESULTS_LIST_ID);
-            String gameSummary = completedGame.toString();
-            String htmlText = START_TAG + HTML.Tag.LI + END_TAG + gameSummary + START_TAG + SLASH + HTML.Tag.LI + END_TAG + NL;
-            statsDoc.insertBeforeEnd(ol, htmlText);
+            statsDoc.setInnerHTML(ol, html.toString());
         }
         // WE'LL LET THE ERROR HANDLER TAKE CARE OF ANY ERRORS,
         // WHICH COULD HAPPEN IF XML SETUP FILES ARE IMPROPERLY
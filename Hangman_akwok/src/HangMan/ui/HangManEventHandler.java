@@ -1,7 +1,7 @@
 package HangMan.ui;
 
 import java.io.IOException;
-import java.util.ArrayList;
+import java.util.List;
 
 import javax.swing.JEditorPane;
 
@@ -15,6 +15,7 @@ import javafx.stage.Stage;
 import application.Main.HangManPropertyType;
 import properties_manager.PropertiesManager;
 import xml_utilities.InvalidXMLFileFormatException;
+import HangMan.file.HangManBinaryDictionary;
 import HangMan.file.HangManFileLoader;
 import HangMan.game.HangManGameStateManager;
 
@@ -53,6 +54,22 @@ public class HangManEventHandler {
         gsm.startNewGame();
     }
     
+    /**
+     * This method responds to when the user asks for a hint. It asks the
+     * solver for the most informative letter to guess next and highlights
+     * that letter's button, leaving the guess itself to the user.
+     */
+    public void respondToHintRequest()
+    {
+        HangManGameStateManager gsm = ui.getGSM();
+        if (!gsm.isGameInProgress())
+            return;
+        char letter = gsm.getSolver().suggestGuess(gsm.getGameInProgress());
+        Button letterButton = ui.getLetterButton(letter);
+        if (letterButton != null)
+            letterButton.setStyle("-fx-background-color: yellow;");
+    }
+    
     /**
      * This method responds to when the user requests to go the help
      * screen's home page. It responds by loading that page.
@@ -75,20 +92,29 @@ public class HangManEventHandler {
 		PropertiesManager props = PropertiesManager.getPropertiesManager();
 		
 		// GET THE SELECTED LANGUAGE & IT'S XML FILE
-        ArrayList<String> languages = props.getPropertyOptionsList(HangManPropertyType.LANGUAGE_OPTIONS);
-        ArrayList<String> languageData = props.getPropertyOptionsList(HangManPropertyType.LANGUAGE_DATA_FILE_NAMES);
+        List<String> languages = props.getPropertyOptionsList(HangManPropertyType.LANGUAGE_OPTIONS);
+        List<String> languageData = props.getPropertyOptionsList(HangManPropertyType.LANGUAGE_DATA_FILE_NAMES);
         int langIndex = languages.indexOf(language);
         String langDataFile = languageData.get(langIndex);
         String langSchema = props.getProperty(HangManPropertyType.PROPERTIES_SCHEMA_FILE_NAME);
         try
         {
-            // LOAD THE LANGUAGE SPECIFIC PROPERTIES
-            props.loadProperties(langDataFile, langSchema);
+            // LOAD THE LANGUAGE SPECIFIC PROPERTIES, WHICH WERE MOST
+            // LIKELY ALREADY READ WHILE THE SPLASH SCREEN WAS UP
+            HangManFileLoader.loadProperties(langDataFile, langSchema);
                        
-            // LOAD THE WORD LIST
-            String wordListFile = props.getProperty(HangManPropertyType.WORD_LIST_FILE_NAME);
-            String wordList = HangManFileLoader.loadTextFile(wordListFile);
-            gsm.loadWordList(wordList);
+            // LOAD THE WORD LIST, UNLESS IT'S BEEN LOADED FOR US
+            HangManGameStateManager dictionary = ui.getPrefetcher().getDictionary(language);
+            if (dictionary != null)
+            {
+                gsm.shareWordList(dictionary);
+            }
+            else
+            {
+                String wordListFile = props.getProperty(HangManPropertyType.WORD_LIST_FILE_NAME);
+                HangManBinaryDictionary.loadWordList(gsm, wordListFile);
+            }
+            gsm.setLetterOptions(props.getPropertyOptionsList(HangManPropertyType.LETTER_OPTIONS));
             
             // INITIALIZE THE USER INTERFACE WITH THE SELECTED LANGUAGE
             ui.initHangManUI();
@@ -123,7 +149,8 @@ public class HangManEventHandler {
         //CHECK IF THE LETTER IS IN SECRETWORD
         //SET COLOR FIRST
        
-        if(ui.getGSM().getGameInProgress().isRightGuess(guess)){
+        boolean rightGuess = gsm.getGameInProgress().isRightGuess(guess);
+        if(rightGuess){
             //letterButton.setBackground(Color.GREEN);
         	letterButton.setStyle("-fx-base:green");
             //letterButton.setForeground(Color.BLUE);
@@ -135,7 +162,7 @@ public class HangManEventHandler {
 
         }
         //WRONG GUESS
-        else if(!ui.getGSM().getGameInProgress().isRightGuess(guess)){
+        else{
             //letterButton.setBackground(Color.RED);
             //letterButton.setForeground(Color.WHITE);
             //letterButton.setEnabled(false);
@@ -148,7 +175,6 @@ public class HangManEventHandler {
             // THEN PROCESS THE GUESS
 
                 String guessState=ui.getGSM().getGameInProgress().getNewGuess();
-                System.out.println(guessState);
                 gsm.processGuess(guessState,guess);
 
     }
@@ -0,0 +1,230 @@
+package HangMan.ui;
+
+import java.util.List;
+
+import HangMan.game.HangManGameData;
+import HangMan.game.HangManGameStateManager;
+import application.Main.HangManPropertyType;
+import properties_manager.PropertiesManager;
+import properties_manager.PropertiesSnapshot;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+import javafx.geometry.Insets;
+import javafx.scene.Node;
+import javafx.scene.control.Label;
+import javafx.scene.control.ListView;
+import javafx.scene.layout.BorderPane;
+import javafx.scene.layout.GridPane;
+import javafx.scene.layout.Priority;
+import javafx.scene.layout.VBox;
+import javafx.scene.text.Font;
+import javafx.scene.text.FontWeight;
+
+/**
+ * HangManFXGameView shows the game and stats screens with plain JavaFX
+ * controls rather than HTML pages in embedded Swing editors. The guesses and
+ * the page of game results being shown are each a ListView over an
+ * ObservableList, so only the rows on screen are ever laid out, and each
+ * update is a single change to the list or a label.
+ */
+public class HangManFXGameView implements HangManGameView {
+	private HangManUI ui;
+
+	// GAME SCREEN
+	private BorderPane gamePane;
+	private Label subheaderLabel;
+	private ListView<String> guessesList;
+	private ObservableList<String> guesses;
+	private Label winLabel;
+	private Label loseLabel;
+
+	// STATS SCREEN
+	private VBox statsPane;
+	private Label gamesPlayedLabel;
+	private Label winsLabel;
+	private Label lossesLabel;
+	private Label fewestGuessesLabel;
+	private Label fastestWinLabel;
+	private Label gameResultsHeaderLabel;
+	private ListView<HangManGameData> gameResultsList;
+	private ObservableList<HangManGameData> gameResults;
+
+	// WHAT WE SHOW FOR STATS THAT HAVE NO GAME YET
+	private final String NO_STAT_TEXT = "-";
+
+	/**
+	 * Builds both screens using the properties of the language that has been
+	 * selected, so this must only be made once a language has been loaded.
+	 *
+	 * @param initUI
+	 *            The UI whose game state manager holds the games to show.
+	 */
+	public HangManFXGameView(HangManUI initUI) {
+		ui = initUI;
+		PropertiesSnapshot<HangManPropertyType> props = PropertiesManager
+				.getPropertiesManager().getSnapshot(HangManPropertyType.class);
+		initGamePane(props);
+		initStatsPane(props);
+	}
+
+	/**
+	 * Accessor method for the game screen's controls.
+	 *
+	 * @return The node to put in the center of the game screen.
+	 */
+	public Node getGameNode() {
+		return gamePane;
+	}
+
+	/**
+	 * Accessor method for the stats screen's controls.
+	 *
+	 * @return The node to put in the workspace for the stats screen.
+	 */
+	public Node getStatsNode() {
+		return statsPane;
+	}
+
+	/*
+	 * Lays out the subheader, the list of guesses and the win and loss labels.
+	 */
+	private void initGamePane(PropertiesSnapshot<HangManPropertyType> props) {
+		String fontFamily = props
+				.getProperty(HangManPropertyType.GUESSES_FONT_FAMILY);
+		int fontSize = Integer.parseInt(props
+				.getProperty(HangManPropertyType.GUESSES_FONT_SIZE));
+		Font headerFont = Font.font(fontFamily, FontWeight.BOLD, fontSize);
+
+		subheaderLabel = new Label();
+		subheaderLabel.setFont(headerFont);
+
+		guesses = FXCollections.observableArrayList();
+		guessesList = new ListView<String>(guesses);
+		guessesList.setFocusTraversable(false);
+		guessesList.setStyle("-fx-font-family: \"" + fontFamily
+				+ "\"; -fx-font-size: " + fontSize + "pt;");
+
+		winLabel = new Label();
+		winLabel.setFont(headerFont);
+		loseLabel = new Label();
+		loseLabel.setFont(headerFont);
+		VBox resultsPane = new VBox(winLabel, loseLabel);
+
+		gamePane = new BorderPane();
+		gamePane.setPadding(new Insets(5, 5, 5, 5));
+		gamePane.setTop(subheaderLabel);
+		gamePane.setCenter(guessesList);
+		gamePane.setBottom(resultsPane);
+		gamePane.setPrefSize(600, 600);
+	}
+
+	/*
+	 * Lays out the table of stats and the list of game results.
+	 */
+	private void initStatsPane(PropertiesSnapshot<HangManPropertyType> props) {
+		GridPane statsTable = new GridPane();
+		statsTable.setHgap(10.0);
+		gamesPlayedLabel = addStatRow(statsTable, 0,
+				props.getProperty(HangManPropertyType.GAMES_PLAYED_TEXT), "0");
+		winsLabel = addStatRow(statsTable, 1,
+				props.getProperty(HangManPropertyType.WINS_TEXT), "0");
+		lossesLabel = addStatRow(statsTable, 2,
+				props.getProperty(HangManPropertyType.LOSSES_TEXT), "0");
+		fewestGuessesLabel = addStatRow(statsTable, 3,
+				props.getProperty(HangManPropertyType.FEWEST_GUESSES_WIN_TEXT),
+				NO_STAT_TEXT);
+		fastestWinLabel = addStatRow(statsTable, 4,
+				props.getProperty(HangManPropertyType.FASTEST_WIN_TEXT),
+				NO_STAT_TEXT);
+
+		gameResultsHeaderLabel = new Label();
+		gameResultsHeaderLabel.setFont(Font.font(null, FontWeight.BOLD, 18));
+
+		// EACH ROW SHOWS THE GAME'S SUMMARY, WHICH IS ITS toString
+		gameResults = FXCollections.observableArrayList();
+		gameResultsList = new ListView<HangManGameData>(gameResults);
+		gameResultsList.setFocusTraversable(false);
+		VBox.setVgrow(gameResultsList, Priority.ALWAYS);
+
+		statsPane = new VBox(10.0, statsTable, gameResultsHeaderLabel,
+				gameResultsList);
+		statsPane.setPadding(new Insets(5, 5, 5, 5));
+		statsPane.setPrefSize(600, 600);
+	}
+
+	/*
+	 * Adds one labelled stat to the table, returning the label for its value.
+	 */
+	private Label addStatRow(GridPane statsTable, int row, String labelText,
+			String initValue) {
+		Label nameLabel = new Label(labelText);
+		nameLabel.setFont(Font.font(null, FontWeight.BOLD, 14));
+		Label valueLabel = new Label(initValue);
+		statsTable.addRow(row, nameLabel, valueLabel);
+		return valueLabel;
+	}
+
+	@Override
+	public void clearGamePage() {
+		subheaderLabel.setText(null);
+		guesses.clear();
+		winLabel.setText(null);
+		loseLabel.setText(null);
+	}
+
+	@Override
+	public void addGuessToGamePage(String guess, String guessMatch) {
+		PropertiesSnapshot<HangManPropertyType> props = PropertiesManager
+				.getPropertiesManager().getSnapshot(HangManPropertyType.class);
+		HangManGameData gameInProgress = ui.getGSM().getGameInProgress();
+
+		// LABELS ONLY REDRAW IF THEIR TEXT HAS ACTUALLY CHANGED
+		subheaderLabel.setText(props
+				.getProperty(HangManPropertyType.GAME_SUBHEADER_TEXT));
+
+		// SPACE OUT THE LETTERS THE SAME WAY THE HTML PAGE DOES
+		StringBuilder row = new StringBuilder(guessMatch.length() * 2);
+		for (int i = 0; i < guessMatch.length(); i++)
+			row.append(' ').append(guessMatch.charAt(i));
+		guesses.add(row.toString());
+		guessesList.scrollTo(guesses.size() - 1);
+
+		if (gameInProgress.isWordFound() && gameInProgress.getWrongTimes() < 6) {
+			// PLAYER HAS WON
+			winLabel.setText(props
+					.getProperty(HangManPropertyType.WIN_DISPLAY_TEXT));
+		} else if (gameInProgress.getWrongTimes() >= 6
+				&& !gameInProgress.isWordFound()) {
+			// PLAYER HAS LOST
+			loseLabel.setText(props
+					.getProperty(HangManPropertyType.LOSE_DISPLAY_TEXT));
+		}
+	}
+
+	@Override
+	public void addGameResultToStatsPage(HangManGameData completedGame) {
+		PropertiesSnapshot<HangManPropertyType> props = PropertiesManager
+				.getPropertiesManager().getSnapshot(HangManPropertyType.class);
+		HangManGameStateManager gsm = ui.getGSM();
+		HangManGameData fewestWin = gsm.getFewestGuessesWin();
+		HangManGameData fastestWin = gsm.getFastestWin();
+
+		// UPDATE THE TABLE AT THE TOP
+		gamesPlayedLabel.setText(Integer.toString(gsm.getGamesPlayed()));
+		winsLabel.setText(Integer.toString(gsm.getWins()));
+		lossesLabel.setText(Integer.toString(gsm.getLosses()));
+		if (fewestWin != null)
+			fewestGuessesLabel.setText(fewestWin.toString());
+		if (fastestWin != null)
+			fastestWinLabel.setText(fastestWin.toString());
+
+		// AND THE HEADER FOR THE LIST OF GAMES
+		gameResultsHeaderLabel.setText(props
+				.getProperty(HangManPropertyType.GAME_RESULTS_TEXT));
+	}
+
+	@Override
+	public void showGameResults(List<HangManGameData> games) {
+		gameResults.setAll(games);
+	}
+}
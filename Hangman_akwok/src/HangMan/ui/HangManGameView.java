@@ -0,0 +1,46 @@
+package HangMan.ui;
+
+import java.util.List;
+
+import HangMan.game.HangManGameData;
+
+/**
+ * HangManGameView is whatever shows the guesses of the game being played and
+ * the results of the games played so far. The HangManDocumentManager shows
+ * them as HTML pages, the HangManFXGameView with plain JavaFX controls, and
+ * which one is used is picked by the GAME_VIEW property at startup.
+ */
+public interface HangManGameView {
+	/**
+	 * Clears the guesses and win or loss display when a new game starts.
+	 */
+	public void clearGamePage();
+
+	/**
+	 * Shows a guess just made in the game being played.
+	 *
+	 * @param guess
+	 *            Guess letter.
+	 * @param guessMatch
+	 *            The so-far-guessed word, with correct letters and underlines.
+	 */
+	public void addGuessToGamePage(String guess, String guessMatch);
+
+	/**
+	 * Updates the stats for all the games played when a game has just ended.
+	 * Note that the list of game results is shown by showGameResults.
+	 *
+	 * @param completedGame
+	 *            The game that has just ended.
+	 */
+	public void addGameResultToStatsPage(HangManGameData completedGame);
+
+	/**
+	 * Replaces the list of game results with just these games, so that no
+	 * more than one page of results is ever shown at once.
+	 *
+	 * @param games
+	 *            The games to show, in the order they were played.
+	 */
+	public void showGameResults(List<HangManGameData> games);
+}
@@ -0,0 +1,85 @@
+package HangMan.ui;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javafx.scene.image.Image;
+
+/**
+ * HangManImageCache decodes each image the game uses only once. Images are
+ * kept by file name, so toolbar images for each language and the hangman
+ * stages shared between languages are only ever read from disk the first time
+ * they are asked for. Note that an Image never changes once loaded, so the
+ * same one may be shown by any number of ImageViews.
+ */
+public class HangManImageCache {
+	// ALL THE IMAGES LOADED SO FAR, BY FILE NAME
+	private ConcurrentHashMap<String, Image> images;
+
+	// WHERE THE IMAGE FILES ARE FOUND
+	private String imgPath;
+
+	/**
+	 * Constructor for making an empty cache.
+	 *
+	 * @param initImgPath
+	 *            The URL of the directory holding the image files, such as
+	 *            "file:img/".
+	 */
+	public HangManImageCache(String initImgPath) {
+		images = new ConcurrentHashMap<String, Image>();
+		imgPath = initImgPath;
+	}
+
+	/**
+	 * Gets the image, loading it now if it hasn't been yet.
+	 *
+	 * @param imageName
+	 *            The name of the image file. Note that the path will be added
+	 *            by this method.
+	 * @return The decoded image.
+	 */
+	public Image getImage(String imageName) {
+		Image img = images.get(imageName);
+		if (img == null)
+			img = putIfAbsent(imageName, new Image(imgPath + imageName));
+		return img;
+	}
+
+	/**
+	 * Starts loading all the images not yet in the cache, without waiting for
+	 * any of them. JavaFX decodes them on its own background thread, so this
+	 * may be called from the UI thread, for example while the splash screen is
+	 * showing, and an image asked for before it has finished will simply be
+	 * drawn once it has.
+	 *
+	 * @param imageNames
+	 *            The names of the image files to load.
+	 */
+	public void preloadImages(List<String> imageNames) {
+		for (String imageName : imageNames) {
+			if (imageName != null && !images.containsKey(imageName))
+				putIfAbsent(imageName, new Image(imgPath + imageName, true));
+		}
+	}
+
+	/**
+	 * Tests to see if an image has been loaded, or at least started loading.
+	 *
+	 * @param imageName
+	 *            The name of the image file.
+	 * @return true if the image is in the cache, false otherwise.
+	 */
+	public boolean contains(String imageName) {
+		return images.containsKey(imageName);
+	}
+
+	/*
+	 * Adds the image unless another thread beat us to it, in which case we use
+	 * theirs so everyone shares the same one.
+	 */
+	private Image putIfAbsent(String imageName, Image img) {
+		Image raced = images.putIfAbsent(imageName, img);
+		return (raced == null) ? img : raced;
+	}
+}
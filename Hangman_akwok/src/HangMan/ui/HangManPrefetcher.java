@@ -0,0 +1,166 @@
+package HangMan.ui;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import HangMan.file.HangManBinaryDictionary;
+import HangMan.file.HangManFileLoader;
+import HangMan.game.HangManDifficultyIndex.HangManDifficulty;
+import HangMan.game.HangManGameStateManager;
+import application.Main.HangManPropertyType;
+import properties_manager.PropertiesBundle;
+import properties_manager.PropertiesManager;
+import properties_manager.PropertiesSnapshot;
+import xml_utilities.InvalidXMLFileFormatException;
+
+/**
+ * HangManPrefetcher gets every language ready while the splash screen is
+ * showing, so that picking a language doesn't have to wait on the disk. For
+ * each language it loads the properties, the dictionary, the HTML pages and
+ * the images on a pool of worker threads, all languages at once, and when new
+ * games are to be picked by difficulty it scores the dictionary too. Note that
+ * everything it loads is kept by the caches that would have loaded it anyway,
+ * so choosing a language just finds it all already there.
+ */
+public class HangManPrefetcher {
+	// THE WORKER THREADS, WHICH NEVER KEEP THE APPLICATION RUNNING
+	private ExecutorService pool;
+
+	// EACH LANGUAGE'S DICTIONARY, BY LANGUAGE, ONCE IT HAS BEEN LOADED
+	private ConcurrentHashMap<String, Future<HangManGameStateManager>> dictionaries;
+
+	// THE IMAGES ARE DECODED INTO THE UI'S OWN CACHE
+	private HangManImageCache imageCache;
+
+	public HangManPrefetcher(HangManImageCache initImageCache) {
+		imageCache = initImageCache;
+		dictionaries = new ConcurrentHashMap<String, Future<HangManGameStateManager>>();
+	}
+
+	/**
+	 * Starts loading every language offered by the application's properties,
+	 * returning right away. This should be called once the application
+	 * properties have been loaded but before any language has been picked.
+	 */
+	public void prefetchAllLanguages() {
+		PropertiesManager props = PropertiesManager.getPropertiesManager();
+		List<String> languages = props
+				.getPropertyOptionsList(HangManPropertyType.LANGUAGE_OPTIONS);
+		List<String> languageData = props
+				.getPropertyOptionsList(HangManPropertyType.LANGUAGE_DATA_FILE_NAMES);
+		String langSchema = props
+				.getProperty(HangManPropertyType.PROPERTIES_SCHEMA_FILE_NAME);
+
+		// THE DICTIONARIES ONLY NEED SCORING IF GAMES WILL BE PICKED
+		// FROM A DIFFICULTY BAND
+		boolean scoreDifficulty = isDifficultyBand(props
+				.getProperty(HangManPropertyType.DIFFICULTY));
+
+		int numThreads = Math.max(1, Math.min(languages.size(), Runtime
+				.getRuntime().availableProcessors()));
+		pool = Executors.newFixedThreadPool(numThreads, runnable -> {
+			Thread worker = new Thread(runnable, "HangMan prefetch");
+			worker.setDaemon(true);
+			return worker;
+		});
+		for (int i = 0; i < languages.size(); i++) {
+			String langDataFile = languageData.get(i);
+			dictionaries.put(languages.get(i),
+					pool.submit(() -> prefetchLanguage(langDataFile, langSchema,
+							scoreDifficulty)));
+		}
+
+		// NOTHING ELSE WILL EVER BE ASKED OF THE WORKERS
+		pool.shutdown();
+	}
+
+	/*
+	 * Tests to see if a DIFFICULTY setting names a band other than ANY, the
+	 * same way the UI reads it.
+	 */
+	private static boolean isDifficultyBand(String difficulty) {
+		for (HangManDifficulty band : HangManDifficulty.values()) {
+			if (band != HangManDifficulty.ANY && band.name().equals(difficulty))
+				return true;
+		}
+		return false;
+	}
+
+	/**
+	 * Gets the dictionary for a language, waiting for it if it is still being
+	 * loaded.
+	 *
+	 * @param language
+	 *            The language, as named in the LANGUAGE_OPTIONS.
+	 * @return A game state manager holding the language's dictionary, to share
+	 *         the word list of, or null if the language was never prefetched.
+	 * @throws InvalidXMLFileFormatException
+	 *             Thrown if the language's properties file is invalid.
+	 * @throws IOException
+	 *             Thrown if the language's files couldn't be loaded.
+	 */
+	public HangManGameStateManager getDictionary(String language)
+			throws InvalidXMLFileFormatException, IOException {
+		Future<HangManGameStateManager> dictionary = dictionaries.get(language);
+		if (dictionary == null)
+			return null;
+		try {
+			return dictionary.get();
+		} catch (InterruptedException ie) {
+			Thread.currentThread().interrupt();
+			return null;
+		} catch (ExecutionException ee) {
+			// PASS ON THE PROBLEM AS IF WE'D HIT IT OURSELVES
+			Throwable cause = ee.getCause();
+			if (cause instanceof InvalidXMLFileFormatException)
+				throw (InvalidXMLFileFormatException) cause;
+			if (cause instanceof IOException)
+				throw (IOException) cause;
+			throw new IOException(cause);
+		}
+	}
+
+	/*
+	 * Does all the loading for one language on a worker thread. Note that the
+	 * properties manager's own properties are left alone, the language's
+	 * properties only go into its cached bundle.
+	 */
+	private HangManGameStateManager prefetchLanguage(String langDataFile,
+			String langSchema, boolean scoreDifficulty)
+			throws InvalidXMLFileFormatException, IOException {
+		PropertiesBundle langProps = HangManFileLoader.loadLanguageBundle(
+				langDataFile, langSchema);
+		PropertiesSnapshot<HangManPropertyType> props = langProps
+				.getSnapshot(HangManPropertyType.class);
+
+		// DECODE ALL THE LANGUAGE'S IMAGES
+		for (String imageName : HangManUI.getLanguageImageNames(props))
+			imageCache.getImage(imageName);
+
+		// READ ALL THE PAGES
+		HangManFileLoader.loadTextFile(props
+				.getProperty(HangManPropertyType.GAME_FILE_NAME));
+		HangManFileLoader.loadTextFile(props
+				.getProperty(HangManPropertyType.STATS_FILE_NAME));
+		HangManFileLoader.loadTextFile(props
+				.getProperty(HangManPropertyType.HELP_FILE_NAME));
+
+		// AND FINALLY THE DICTIONARY, WHICH ONLY THIS LANGUAGE USES
+		HangManGameStateManager dictionary = new HangManGameStateManager();
+		HangManBinaryDictionary.loadWordList(dictionary,
+				props.getProperty(HangManPropertyType.WORD_LIST_FILE_NAME));
+		dictionary.setLetterOptions(props
+				.getPropertyOptionsList(HangManPropertyType.LETTER_OPTIONS));
+
+		// SCORING EVERY CANDIDATE TAKES LONG ENOUGH TO NOTICE, SO DO IT
+		// HERE RATHER THAN ON THE PLAYER'S FIRST NEW GAME
+		if (scoreDifficulty)
+			dictionary.getDifficultyIndex();
+		return dictionary;
+	}
+}
@@ -4,6 +4,7 @@ package HangMan.ui;
 import java.io.IOException;
 import java.net.URL;
 import java.util.ArrayList;
+import java.util.List;
 import java.util.HashMap;
 
 import javax.swing.JEditorPane;
@@ -11,15 +12,21 @@ import javax.swing.text.Document;
 import javax.swing.text.html.HTMLDocument;
 
 import HangMan.file.HangManFileLoader;
+import HangMan.game.HangManDifficultyIndex.HangManDifficulty;
 import HangMan.game.HangManGameData;
+import HangMan.game.HangManGameListener;
 import HangMan.game.HangManGameStateManager;
+import HangMan.metrics.HangManHistogram;
+import HangMan.metrics.HangManMetrics;
 import application.Main.HangManPropertyType;
 import properties_manager.PropertiesManager;
+import properties_manager.PropertiesSnapshot;
 import javafx.embed.swing.SwingNode;
 import javafx.event.ActionEvent;
 import javafx.event.EventHandler;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
+import javafx.scene.Node;
 import javafx.scene.control.Button;
 import javafx.scene.control.Label;
 import javafx.scene.control.ScrollPane;
@@ -35,7 +42,7 @@ import javafx.scene.text.FontWeight;
 import javafx.stage.Stage;
 import javax.swing.JScrollPane;
 
-public class HangManUI extends Pane {
+public class HangManUI extends Pane implements HangManGameListener {
 	/**
 	 * The HangManUIState represents the four screen states that are possible
 	 * for the HangMan game application. Depending on which state is in current
@@ -76,6 +83,7 @@ public class HangManUI extends Pane {
 	// GamePane
 	private Label HangManLabel;
 	private Button newGameButton;
+	private Button hintButton;
 	private HBox letterButtonsPane;
 	private HashMap<Character,Button> letterButtons;
 	private BorderPane gamePanel = new BorderPane();
@@ -88,6 +96,32 @@ public class HangManUI extends Pane {
 	//StatsPane
 	private ScrollPane statsScrollPane;
 	private JEditorPane statsPane;
+	private Node statsScreen;
+
+	// SHOWS THE GUESSES AND STATS, EITHER AS HTML PAGES OR WITH PLAIN
+	// JAVAFX CONTROLS, DEPENDING ON THE GAME_VIEW PROPERTY
+	private HangManGameView gameView;
+	private HangManFXGameView fxGameView;
+	public static final String FX_GAME_VIEW = "FX";
+
+	// THE GAME_MODE THAT PLAYS EVIL GAMES, ANYTHING ELSE IS STANDARD
+	public static final String EVIL_GAME_MODE = "EVIL";
+
+	// HOW LONG EACH UPDATE OF THE GAME VIEW TAKES
+	private static final HangManHistogram DOCUMENT_RENDER_LATENCY = HangManMetrics
+			.getMetrics().histogram(HangManMetrics.DOCUMENT_RENDER_LATENCY);
+
+	// ONLY ONE PAGE OF GAME RESULTS IS SHOWN AT A TIME, AND THESE
+	// CONTROLS GO THROUGH THE PAGES
+	private Button olderResultsButton;
+	private Button newerResultsButton;
+	private Label resultsPageLabel;
+	private String noResultsText;
+	private int resultsPerPage;
+	private int resultsPage;
+	private int shownResultsFrom;
+	private int shownResultsTo;
+	public static final int DEFAULT_RESULTS_PER_PAGE = 50;
 	
 	//HelpPane
 	private BorderPane helpPanel;
@@ -102,6 +136,33 @@ public class HangManUI extends Pane {
 	// Image path
 	private String ImgPath = "file:img/";
 
+	// EVERY IMAGE IS DECODED ONCE AND KEPT HERE
+	private HangManImageCache imageCache;
+
+	// LOADS EVERY LANGUAGE WHILE THE SPLASH SCREEN IS UP
+	private HangManPrefetcher prefetcher;
+
+	// THE HANGMAN PICTURE, WHOSE IMAGE IS SWAPPED AS WRONG GUESSES ADD UP
+	private ImageView hangManImageView;
+
+	// THE HANGMAN PICTURE FOR EACH NUMBER OF WRONG GUESSES
+	private static final HangManPropertyType[] HANGMAN_STAGE_IMAGES = {
+			HangManPropertyType.HANGMAN0_IMG_NAME,
+			HangManPropertyType.HANGMAN1_IMG_NAME,
+			HangManPropertyType.HANGMAN2_IMG_NAME,
+			HangManPropertyType.HANGMAN3_IMG_NAME,
+			HangManPropertyType.HANGMAN4_IMG_NAME,
+			HangManPropertyType.HANGMAN5_IMG_NAME,
+			HangManPropertyType.HANGMAN6_IMG_NAME };
+
+	// AND THE REST OF THE LANGUAGE-SPECIFIC IMAGES
+	private static final HangManPropertyType[] TOOLBAR_IMAGES = {
+			HangManPropertyType.GAME_IMG_NAME,
+			HangManPropertyType.STATS_IMG_NAME,
+			HangManPropertyType.HELP_IMG_NAME,
+			HangManPropertyType.EXIT_IMG_NAME,
+			HangManPropertyType.HOME_IMG_NAME };
+
 	// mainPane weight && height
 	private int paneWidth;
 	private int paneHeigth;
@@ -117,7 +178,8 @@ public class HangManUI extends Pane {
 		// WE'LL USE THIS EVENT HANDLER FOR LOTS OF CONTROLS
 		eventHandler = new HangManEventHandler(this);
 
-		gsm = new HangManGameStateManager(this);
+		gsm = new HangManGameStateManager();
+		gsm.addGameListener(this);
 		
 		cheatKeyHandler = new CheatKeyHandler(this);
 		
@@ -127,8 +189,14 @@ public class HangManUI extends Pane {
 		
 		docManager = new HangManDocumentManager(this);
 
+		imageCache = new HangManImageCache(ImgPath);
+
 		initMainPane();
 		initSplashScreen();
+
+		// GET EVERY LANGUAGE READY WHILE THE USER PICKS ONE
+		prefetcher = new HangManPrefetcher(imageCache);
+		prefetcher.prefetchAllLanguages();
                 
 
 	}
@@ -194,9 +262,9 @@ public class HangManUI extends Pane {
 		// add key listener
 
 		// GET THE LIST OF LANGUAGE OPTIONS
-		ArrayList<String> languages = props
+		List<String> languages = props
 				.getPropertyOptionsList(HangManPropertyType.LANGUAGE_OPTIONS);
-		ArrayList<String> languageImages = props
+		List<String> languageImages = props
 				.getPropertyOptionsList(HangManPropertyType.LANGUAGE_IMAGE_NAMES);
 
 		languageSelectionPane = new HBox();
@@ -267,9 +335,34 @@ public class HangManUI extends Pane {
 		String title = props.getProperty(HangManPropertyType.GAME_TITLE_TEXT);
 		primaryStage.setTitle(title);
 
+		// START DECODING THIS LANGUAGE'S IMAGES ALL AT ONCE
+		preloadLanguageImages();
+
 		// THEN ADD ALL THE STUFF WE MIGHT NOW USE
 		initNorthToolbar();
 
+		// PICK HOW THE GUESSES AND STATS WILL BE SHOWN
+		if (FX_GAME_VIEW.equals(props.getProperty(HangManPropertyType.GAME_VIEW))) {
+			fxGameView = new HangManFXGameView(this);
+			gameView = fxGameView;
+		} else {
+			gameView = docManager;
+		}
+
+		// AND HOW THE SECRET WORDS WILL BE PICKED
+		if (EVIL_GAME_MODE.equals(props.getProperty(HangManPropertyType.GAME_MODE))) {
+			gsm.setGameMode(HangManGameStateManager.HangManGameMode.EVIL);
+		} else {
+			gsm.setGameMode(HangManGameStateManager.HangManGameMode.STANDARD);
+		}
+
+		// AND HOW HARD THEY WILL BE, ANY DIFFICULTY IF IT ISN'T ONE WE KNOW
+		String difficulty = props.getProperty(HangManPropertyType.DIFFICULTY);
+		for (HangManDifficulty band : HangManDifficulty.values()) {
+			if (band.name().equals(difficulty))
+				gsm.setDifficulty(band);
+		}
+
 		// OUR WORKSPACE WILL STORE EITHER THE GAME, STATS,
 		// OR HELP UI AT ANY ONE TIME
 		initWorkspace();
@@ -282,6 +375,35 @@ public class HangManUI extends Pane {
 
 	}
 	
+	/**
+	 * This method starts loading the toolbar images and every hangman stage
+	 * for the selected language in the background, so that none of them has
+	 * to be decoded while the game is being played.
+	 */
+	private void preloadLanguageImages() {
+		PropertiesSnapshot<HangManPropertyType> props = PropertiesManager
+				.getPropertiesManager().getSnapshot(HangManPropertyType.class);
+		imageCache.preloadImages(getLanguageImageNames(props));
+	}
+
+	/**
+	 * Gets the names of all the toolbar and hangman images for one language.
+	 * 
+	 * @param props
+	 *            The language's properties.
+	 * 
+	 * @return The image file names.
+	 */
+	static List<String> getLanguageImageNames(
+			PropertiesSnapshot<HangManPropertyType> props) {
+		List<String> imageNames = new ArrayList<String>();
+		for (HangManPropertyType prop : TOOLBAR_IMAGES)
+			imageNames.add(props.getProperty(prop));
+		for (HangManPropertyType prop : HANGMAN_STAGE_IMAGES)
+			imageNames.add(props.getProperty(prop));
+		return imageNames;
+	}
+
 	/**
 	 * This function initializes all the controls that go in the north toolbar.
 	 */
@@ -448,31 +570,33 @@ public class HangManUI extends Pane {
 		PropertiesManager props = PropertiesManager.getPropertiesManager();
 
 		// THE GUESS HISTORY GOES IN THE CENTER, WHICH WE'LL DISPLAY
-		// USING HTML IN A JEditorPane
-		gamePane = new JEditorPane();
-		// gamePane.addKeyListener(cheatKeyHandler);
-		gamePane.setEditable(false);
-		gamePane.setContentType("text/html");
-		gamePane.setSize(600, 600);
-
-		// LET'S LOAD THE INITIAL HTML INTO THE STATS EDITOR PAGE
-		this.loadPage(gamePane, HangManPropertyType.GAME_FILE_NAME);
-		HTMLDocument gameDoc = (HTMLDocument) gamePane.getDocument();
-		docManager.setGameDoc(gameDoc);
-		
-		//embed swing into javafx
-		guessesScrollPane = new JScrollPane(gamePane);
-                gameSwingNode.setContent(guessesScrollPane);
-		//guessesScrollPane.autosize();
-		//guessesScrollPane.resize(200, 200);
+		// USING HTML IN A JEditorPane UNLESS WE'RE USING THE FX VIEW
+		if (fxGameView == null) {
+			gamePane = new JEditorPane();
+			// gamePane.addKeyListener(cheatKeyHandler);
+			gamePane.setEditable(false);
+			gamePane.setContentType("text/html");
+			gamePane.setSize(600, 600);
+
+			// LET'S LOAD THE INITIAL HTML INTO THE STATS EDITOR PAGE
+			this.loadPage(gamePane, HangManPropertyType.GAME_FILE_NAME);
+			HTMLDocument gameDoc = (HTMLDocument) gamePane.getDocument();
+			docManager.setGameDoc(gameDoc);
+			
+			//embed swing into javafx
+			guessesScrollPane = new JScrollPane(gamePane);
+			gameSwingNode.setContent(guessesScrollPane);
+			//guessesScrollPane.autosize();
+			//guessesScrollPane.resize(200, 200);
+		}
 
 		// LOAD THE HangMan PICTURE AT ZERO STAGE
 		String HangMan = props
 				.getProperty(HangManPropertyType.HANGMAN0_IMG_NAME);
 		Image HangManImg = loadImage(HangMan);
-		ImageView image = new ImageView(HangManImg);
+		hangManImageView = new ImageView(HangManImg);
 		HangManLabel = new Label();
-		HangManLabel.setGraphic(image);
+		HangManLabel.setGraphic(hangManImageView);
 		hmPane = new BorderPane();
 		hmPane.setCenter(HangManLabel);
 		//hmPanel.validate();
@@ -522,12 +646,25 @@ public class HangManUI extends Pane {
 		
 		guessingPane.getChildren().add(newGameButton);
 
+		// AND THE HINT BUTTON ASKS THE SOLVER FOR THE BEST LETTER TO GUESS
+		hintButton = new Button(props.getProperty(HangManPropertyType.HINT_TEXT));
+		setTooltip(hintButton, HangManPropertyType.HINT_TOOLTIP);
+		hintButton.setOnAction(new EventHandler<ActionEvent>(){
+
+			@Override
+			public void handle(ActionEvent event) {
+				eventHandler.respondToHintRequest();
+			}
+			
+		});
+		guessingPane.getChildren().add(hintButton);
+
 		// WE'LL PUT THE LETTER BUTTONS IN THE SOUTH OF THE SOUTH
 		letterButtonsPane = new HBox();
 		letterButtonsPane.setStyle("-fx-background-color: lightgray");
 		letterButtonsPane.setPadding(marginlessInsets);
 		letterButtonsPane.setSpacing(3.0);
-		ArrayList<String> letters = props
+		List<String> letters = props
 				.getPropertyOptionsList(HangManPropertyType.LETTER_OPTIONS);
 
 		// WE'LL STORE THE ALPHABET LETTERS IN A NICE EASY TO ACCESS HASH TABLE
@@ -579,7 +716,7 @@ public class HangManUI extends Pane {
 		//gamePanel.setLayout(new BorderLayout());
 		southGamePane.setTop(guessingPane);
 		southGamePane.setBottom(letterButtonsPane);
-		gamePanel.setCenter(gameSwingNode);
+		gamePanel.setCenter((fxGameView == null) ? gameSwingNode : fxGameView.getGameNode());
 		gamePanel.setBottom(southGamePane);
 		gamePanel.setRight(hmPane);
 		// NOW MAKE THIS PANEL PART OF THE WORKSPACE, WHICH MEANS WE
@@ -597,31 +734,127 @@ public class HangManUI extends Pane {
      */
     private void initStatsPane()
     {
-        // WE'LL DISPLAY ALL STATS IN A JEditorPane
-        statsPane = new JEditorPane();
-        statsPane.setEditable(false);
-        statsPane.setContentType("text/html");
-       
- 
-        // LOAD THE STARTING STATS PAGE, WHICH IS JUST AN OUTLINE
-        // AND DOESN"T HAVE ANY OF THE STATS, SINCE THOSE WILL 
-        // BE DYNAMICALLY ADDED
-        loadPage(statsPane, HangManPropertyType.STATS_FILE_NAME);
-        HTMLDocument statsDoc = (HTMLDocument)statsPane.getDocument();
+        Node statsView;
+
+        // THE FX VIEW HAS ITS OWN STATS CONTROLS, WHICH SCROLL THEMSELVES
+        if (fxGameView != null)
+        {
+            statsView = fxGameView.getStatsNode();
+        }
+        else
+        {
+            // WE'LL DISPLAY ALL STATS IN A JEditorPane
+            statsPane = new JEditorPane();
+            statsPane.setEditable(false);
+            statsPane.setContentType("text/html");
+
+            // LOAD THE STARTING STATS PAGE, WHICH IS JUST AN OUTLINE
+            // AND DOESN"T HAVE ANY OF THE STATS, SINCE THOSE WILL 
+            // BE DYNAMICALLY ADDED
+            loadPage(statsPane, HangManPropertyType.STATS_FILE_NAME);
+            HTMLDocument statsDoc = (HTMLDocument)statsPane.getDocument();
             docManager.setStatsDoc(statsDoc);  
-        statsSwingNode.setContent(statsPane);
-        statsScrollPane = new ScrollPane();
-        statsScrollPane.setContent(statsSwingNode);
-        statsScrollPane.setPrefWidth(mainPane.getWidth());   //check
-        statsScrollPane.setPrefHeight(mainPane.getHeight());  
-        statsScrollPane.setFitToWidth(true);
-         statsScrollPane.setFitToHeight(true);
+            statsSwingNode.setContent(statsPane);
+            statsScrollPane = new ScrollPane();
+            statsScrollPane.setContent(statsSwingNode);
+            statsScrollPane.setPrefWidth(mainPane.getWidth());   //check
+            statsScrollPane.setPrefHeight(mainPane.getHeight());  
+            statsScrollPane.setFitToWidth(true);
+            statsScrollPane.setFitToHeight(true);
+            statsView = statsScrollPane;
+        }
 
+        // THE PAGING CONTROLS GO UNDER THE STATS
+        BorderPane statsPanel = new BorderPane();
+        statsPanel.setCenter(statsView);
+        statsPanel.setBottom(initResultsPager());
+        statsScreen = statsPanel;
         
         // NOW ADD IT TO THE WORKSPACE, MEANING WE CAN SWITCH TO IT
         //workspace.add(statsScrollPane, HangManUIState.VIEW_STATS_STATE.toString());
-        workspace.getChildren().add(statsScrollPane);     //check
-        statsScrollPane.setVisible(false);   //set invisible initially
+        workspace.getChildren().add(statsScreen);     //check
+        statsScreen.setVisible(false);   //set invisible initially
+    }
+
+    /**
+     * This method initializes the controls for going through the pages of
+     * game results, so that the stats screen never has to show every game
+     * played at once.
+     * 
+     * @return The toolbar holding the paging controls.
+     */
+    private HBox initResultsPager()
+    {
+        // THE PAGE SIZE MAY BE SET IN THE PROPERTIES
+        PropertiesManager props = PropertiesManager.getPropertiesManager();
+        String perPage = props.getProperty(HangManPropertyType.STATS_RESULTS_PER_PAGE);
+        resultsPerPage = (perPage == null) ? DEFAULT_RESULTS_PER_PAGE
+                : Math.max(1, Integer.parseInt(perPage));
+
+        olderResultsButton = new Button(props.getProperty(HangManPropertyType.OLDER_RESULTS_TEXT));
+        setTooltip(olderResultsButton, HangManPropertyType.OLDER_RESULTS_TOOLTIP);
+        olderResultsButton.setOnAction(new EventHandler<ActionEvent>(){
+
+			@Override
+			public void handle(ActionEvent event) {
+				showResultsPage(resultsPage - 1);
+			}
+        	
+        });
+        newerResultsButton = new Button(props.getProperty(HangManPropertyType.NEWER_RESULTS_TEXT));
+        setTooltip(newerResultsButton, HangManPropertyType.NEWER_RESULTS_TOOLTIP);
+        newerResultsButton.setOnAction(new EventHandler<ActionEvent>(){
+
+			@Override
+			public void handle(ActionEvent event) {
+				showResultsPage(resultsPage + 1);
+			}
+        	
+        });
+        resultsPageLabel = new Label();
+        noResultsText = props.getProperty(HangManPropertyType.NO_RESULTS_TEXT);
+
+        HBox pager = new HBox();
+        pager.setStyle("-fx-background-color:lightgray");
+        pager.setAlignment(Pos.CENTER);
+        pager.setPadding(marginlessInsets);
+        pager.setSpacing(10.0);
+        pager.getChildren().addAll(olderResultsButton, resultsPageLabel, newerResultsButton);
+
+        // NOTHING HAS BEEN SHOWN YET
+        shownResultsFrom = -1;
+        shownResultsTo = -1;
+        showResultsPage(0);
+        return pager;
+    }
+
+    /**
+     * This method shows one page of the game results, with page 0 holding
+     * the first games played. Pages past the end show the last page.
+     * 
+     * @param page The page of game results to show.
+     */
+    private void showResultsPage(int page)
+    {
+        int gamesPlayed = gsm.getGamesPlayed();
+        int lastPage = (gamesPlayed == 0) ? 0 : (gamesPlayed - 1) / resultsPerPage;
+        resultsPage = Math.max(0, Math.min(page, lastPage));
+        int fromIndex = resultsPage * resultsPerPage;
+        int toIndex = Math.min(fromIndex + resultsPerPage, gamesPlayed);
+
+        // THE HISTORY ONLY EVER GROWS, SO THE SAME RANGE MEANS THE SAME GAMES
+        if ((fromIndex != shownResultsFrom) || (toIndex != shownResultsTo))
+        {
+            long startNanos = System.nanoTime();
+            gameView.showGameResults(gsm.getGamesHistory(fromIndex, toIndex));
+            DOCUMENT_RENDER_LATENCY.recordSince(startNanos);
+            shownResultsFrom = fromIndex;
+            shownResultsTo = toIndex;
+        }
+        resultsPageLabel.setText((gamesPlayed == 0) ? noResultsText
+                : (fromIndex + 1) + "-" + toIndex + " / " + gamesPlayed);
+        olderResultsButton.setDisable(resultsPage == 0);
+        newerResultsButton.setDisable(resultsPage == lastPage);
     }
 
     /**
@@ -692,10 +925,20 @@ public class HangManUI extends Pane {
     } 
 
 	public Image loadImage(String imageName) {
-		Image img = new Image(ImgPath + imageName);
-		// System.out.print(imageName);
-		return img;
-                
+		// EACH IMAGE IS ONLY EVER DECODED ONCE
+		return imageCache.getImage(imageName);
+	}
+
+	public HangManImageCache getImageCache() {
+		return imageCache;
+	}
+
+	public HangManPrefetcher getPrefetcher() {
+		return prefetcher;
+	}
+
+	public Button getLetterButton(char letter) {
+		return letterButtons.get(letter);
 	}
 	
 	/**
@@ -728,7 +971,8 @@ public class HangManUI extends Pane {
 	 */
 	private void setTooltip(Button button, HangManPropertyType tooltip) {
 		// GET THE TEXT AND SET IT AS THE TOOLITP
-		PropertiesManager props = PropertiesManager.getPropertiesManager();
+		PropertiesSnapshot<HangManPropertyType> props = PropertiesManager
+				.getPropertiesManager().getSnapshot(HangManPropertyType.class);
 		String tooltipText = props.getProperty(tooltip);
 		Tooltip toolTip = new Tooltip(tooltipText);
 		// button.setToolTipText(tooltipText);
@@ -746,15 +990,15 @@ public class HangManUI extends Pane {
 		// SWITCH TO THE REQUESTED SCREEN
             if(uiScreen == HangManUIState.PLAY_GAME_STATE)
             { gamePanel.setVisible(true);
-                                  statsScrollPane.setVisible(false);
+                                  statsScreen.setVisible(false);
                                   helpPanel.setVisible(false);
             } if(uiScreen == HangManUIState.VIEW_STATS_STATE)
             {gamePanel.setVisible(false);
-                                  statsScrollPane.setVisible(true);
+                                  statsScreen.setVisible(true);
                                   helpPanel.setVisible(false);
             }if(uiScreen == HangManUIState.VIEW_HELP_STATE)
             {gamePanel.setVisible(false);
-                                  statsScrollPane.setVisible(false);
+                                  statsScreen.setVisible(false);
                                   helpPanel.setVisible(true);                      
             } // CardLayout workspaceCardLayout = (CardLayout)workspace.getLayout();
 		// workspaceCardLayout.show(workspace, uiScreen.toString());
@@ -797,39 +1041,17 @@ public class HangManUI extends Pane {
 		}
 	}
 	
-	/*This method is used to set HanMan pictures when wrong guess times increases
-     * 
-     * 
-     */
-     public void updateHangMan(int wrongTimes){
-     PropertiesManager props = PropertiesManager.getPropertiesManager();
-     String HangMan = props.getProperty(HangManPropertyType.HANGMAN0_IMG_NAME);
-     switch(wrongTimes){
-         case 1:HangMan = props.getProperty(HangManPropertyType.HANGMAN1_IMG_NAME);
-             break;
-         case 2:HangMan = props.getProperty(HangManPropertyType.HANGMAN2_IMG_NAME);
-             break;
-         case 3:HangMan = props.getProperty(HangManPropertyType.HANGMAN3_IMG_NAME);
-             break; 
-         case 4:HangMan = props.getProperty(HangManPropertyType.HANGMAN4_IMG_NAME);
-             break;
-         case 5:HangMan = props.getProperty(HangManPropertyType.HANGMAN5_IMG_NAME);
-             break;
-         case 6:HangMan = props.getProperty(HangManPropertyType.HANGMAN6_IMG_NAME);
-             break;
-     }
-     if(wrongTimes > 6)                                                           //check
-         HangMan = props.getProperty(HangManPropertyType.HANGMAN6_IMG_NAME);
-
-        Image HangManImg=loadImage(HangMan);
-                
-        ImageView image = new ImageView(HangManImg);
-        HangManLabel=new Label();
-        HangManLabel.setGraphic(image);
-        hmPane.getChildren().clear();
-        hmPane.setCenter(HangManLabel);
+	/*This method is used to set HanMan pictures when wrong guess times increases.
+	 * The pictures are already loaded, so this just swaps which one is shown.
+	 */
+	public void updateHangMan(int wrongTimes) {
+		PropertiesSnapshot<HangManPropertyType> props = PropertiesManager
+				.getPropertiesManager().getSnapshot(HangManPropertyType.class);
+		int stage = Math.max(0, Math.min(wrongTimes, HANGMAN_STAGE_IMAGES.length - 1));
+		String HangMan = props.getProperty(HANGMAN_STAGE_IMAGES[stage]);
+		hangManImageView.setImage(loadImage(HangMan));
+	}
 
-}
     /**
      * This method loads the link Web Page into the Help Screen's
      * editor pane.
@@ -857,8 +1079,44 @@ public class HangManUI extends Pane {
      */
     public void resetUI()
     {
-        docManager.clearGamePage();
+        long startNanos = System.nanoTime();
+        gameView.clearGamePage();
+        DOCUMENT_RENDER_LATENCY.recordSince(startNanos);
         resetLetterButtonColors();
   
     }
+
+    // GAME STATE CHANGES, AS REPORTED BY THE GAME STATE MANAGER
+
+    @Override
+    public void gameStarted(HangManGameData newGame)
+    {
+        resetUI();
+    }
+
+    @Override
+    public void guessProcessed(HangManGameData game, String guess, String guessMatch)
+    {
+        long startNanos = System.nanoTime();
+        gameView.addGuessToGamePage(guess, guessMatch);
+        DOCUMENT_RENDER_LATENCY.recordSince(startNanos);
+    }
+
+    @Override
+    public void wrongGuessesChanged(int wrongTimes)
+    {
+        updateHangMan(wrongTimes);
+    }
+
+    @Override
+    public void gameCompleted(HangManGameData completedGame)
+    {
+        long startNanos = System.nanoTime();
+        gameView.addGameResultToStatsPage(completedGame);
+        DOCUMENT_RENDER_LATENCY.recordSince(startNanos);
+
+        // IF WE WERE SHOWING THE LATEST GAMES, KEEP SHOWING THEM
+        int lastPageBefore = Math.max(0, gsm.getGamesPlayed() - 2) / resultsPerPage;
+        showResultsPage((resultsPage == lastPageBefore) ? Integer.MAX_VALUE : resultsPage);
+    }
 }
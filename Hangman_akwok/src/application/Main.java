@@ -1,6 +1,8 @@
 package application;
 	
 import properties_manager.PropertiesManager;
+import HangMan.file.HangManFileLoader;
+import HangMan.metrics.HangManMetrics;
 import HangMan.ui.HangManUI;
 import javafx.application.Application;
 import javafx.stage.Stage;
@@ -28,8 +30,11 @@ public class Main extends Application {
 					PROPERTIES_SCHEMA_FILE_NAME);
 			props.addProperty(HangManPropertyType.DATA_PATH.toString(),
 					DATA_PATH);
-			props.loadProperties(UI_PROPERTIES_FILE_NAME,
+			HangManFileLoader.loadProperties(UI_PROPERTIES_FILE_NAME,
 					PROPERTIES_SCHEMA_FILE_NAME);
+
+			// LET THE METRICS BE WATCHED OVER JMX WHILE WE PLAY
+			HangManMetrics.getMetrics().registerMBean();
 			
 			// GET THE LOADED TITLE AND SET IT IN THE FRAME
 	        String title = props.getProperty(HangManPropertyType.SPLASH_SCREEN_TITLE_TEXT);
@@ -70,16 +75,22 @@ public class Main extends Application {
 		LANGUAGE_OPTIONS, LANGUAGE_DATA_FILE_NAMES, LANGUAGE_IMAGE_NAMES,
 
 		/* GAME TEXT */
-		SPLASH_SCREEN_TITLE_TEXT, GAME_TITLE_TEXT, GAME_SUBHEADER_TEXT, WIN_DISPLAY_TEXT, LOSE_DISPLAY_TEXT, GAME_RESULTS_TEXT, GUESS_LABEL, LETTER_OPTIONS, EXIT_REQUEST_TEXT, YES_TEXT, NO_TEXT, DEFAULT_YES_TEXT, DEFAULT_NO_TEXT, DEFAULT_EXIT_TEXT,
+		SPLASH_SCREEN_TITLE_TEXT, GAME_TITLE_TEXT, GAME_SUBHEADER_TEXT, WIN_DISPLAY_TEXT, LOSE_DISPLAY_TEXT, GAME_RESULTS_TEXT, GAMES_PLAYED_TEXT, WINS_TEXT, LOSSES_TEXT, FEWEST_GUESSES_WIN_TEXT, FASTEST_WIN_TEXT, HINT_TEXT, OLDER_RESULTS_TEXT, NEWER_RESULTS_TEXT, NO_RESULTS_TEXT, GUESS_LABEL, LETTER_OPTIONS, EXIT_REQUEST_TEXT, YES_TEXT, NO_TEXT, DEFAULT_YES_TEXT, DEFAULT_NO_TEXT, DEFAULT_EXIT_TEXT,
 
 		/* IMAGE FILE NAMES */
 		WINDOW_ICON, SPLASH_SCREEN_IMAGE_NAME, GAME_IMG_NAME, STATS_IMG_NAME, HELP_IMG_NAME, EXIT_IMG_NAME, NEW_GAME_IMG_NAME, HOME_IMG_NAME, HANGMAN0_IMG_NAME, HANGMAN1_IMG_NAME, HANGMAN2_IMG_NAME, HANGMAN3_IMG_NAME, HANGMAN4_IMG_NAME, HANGMAN5_IMG_NAME, HANGMAN6_IMG_NAME,
 
+		/* HOW THE GAME AND STATS ARE SHOWN, HTML OR FX */
+		GAME_VIEW, STATS_RESULTS_PER_PAGE,
+
+		/* HOW SECRET WORDS ARE PICKED, STANDARD OR EVIL, AND HOW HARD THEY ARE */
+		GAME_MODE, DIFFICULTY,
+
 		/* DATA FILE STUFF */
 		GAME_FILE_NAME, STATS_FILE_NAME, HELP_FILE_NAME, WORD_LIST_FILE_NAME,
 
 		/* TOOLTIPS */
-		GAME_TOOLTIP, STATS_TOOLTIP, HELP_TOOLTIP, EXIT_TOOLTIP, NEW_GAME_TOOLTIP, HOME_TOOLTIP,
+		GAME_TOOLTIP, STATS_TOOLTIP, HELP_TOOLTIP, EXIT_TOOLTIP, NEW_GAME_TOOLTIP, HOME_TOOLTIP, HINT_TOOLTIP, OLDER_RESULTS_TOOLTIP, NEWER_RESULTS_TOOLTIP,
 
 		/* FONT DATA */
 		LETTERS_FONT_FAMILY, LETTERS_FONT_SIZE, GUESSES_FONT_FAMILY, GUESSES_FONT_SIZE,
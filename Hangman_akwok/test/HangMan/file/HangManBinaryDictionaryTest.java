@@ -0,0 +1,133 @@
+package HangMan.file;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import application.Main.HangManPropertyType;
+import HangMan.game.HangManGameStateManager;
+import properties_manager.PropertiesManager;
+
+/**
+ * Compiles a small word list in a scratch data directory and checks that the
+ * compiled dictionary loads back the same words and candidates, and that one
+ * which is out of date with its word list or damaged is never used.
+ */
+public class HangManBinaryDictionaryTest {
+	private static final String TEXT_FILE = "XX_Words.txt";
+	private static final String BINARY_FILE = "XX_Words.hmd";
+
+	// "LEVEL" AND "ALPHA" REPEAT A LETTER AND "Crane" IS "CRANE" AGAIN,
+	// SO ONLY THREE OF THESE ARE CANDIDATES
+	private static final List<String> WORDS = Arrays.asList("crane", "LEVEL",
+			"ĈEVAL", "Alpha", "Crane", "ŬRBON");
+
+	private File dataDir;
+	private File textFile;
+	private String oldDataPath;
+
+	@Before
+	public void setUp() throws IOException {
+		dataDir = Files.createTempDirectory("hangman").toFile();
+		textFile = new File(dataDir, TEXT_FILE);
+		Files.write(textFile.toPath(), WORDS, StandardCharsets.UTF_8);
+		PropertiesManager props = PropertiesManager.getPropertiesManager();
+		oldDataPath = props.getProperty(HangManPropertyType.DATA_PATH);
+		props.addProperty(HangManPropertyType.DATA_PATH, dataDir.getPath()
+				+ File.separator);
+	}
+
+	@After
+	public void tearDown() {
+		if (oldDataPath != null)
+			PropertiesManager.getPropertiesManager().addProperty(
+					HangManPropertyType.DATA_PATH, oldDataPath);
+		for (File file : dataDir.listFiles())
+			file.delete();
+		dataDir.delete();
+	}
+
+	@Test
+	public void testRoundTrip() throws IOException {
+		File binaryFile = HangManDictionaryCompiler.compile(textFile);
+		assertEquals(BINARY_FILE, binaryFile.getName());
+		assertTrue(HangManBinaryDictionary.exists(BINARY_FILE));
+
+		HangManBinaryDictionary dictionary = HangManBinaryDictionary.load(
+				BINARY_FILE, TEXT_FILE);
+		assertEquals(Arrays.asList("CRANE", "LEVEL", "ĈEVAL", "ALPHA",
+				"CRANE", "ŬRBON"), dictionary.getWords());
+		assertEquals(Arrays.asList("CRANE", "ĈEVAL", "ŬRBON"),
+				dictionary.getCandidateWords());
+	}
+
+	@Test
+	public void testMissingWordListKeepsCompiledDictionary() throws IOException {
+		HangManDictionaryCompiler.compile(textFile);
+		assertTrue(textFile.delete());
+		HangManBinaryDictionary dictionary = HangManBinaryDictionary.load(
+				BINARY_FILE, TEXT_FILE);
+		assertEquals(3, dictionary.getCandidateWords().size());
+	}
+
+	@Test
+	public void testEditedWordListIsRejected() throws IOException {
+		HangManDictionaryCompiler.compile(textFile);
+		Files.write(textFile.toPath(), Arrays.asList("CRANE", "ŬRBON",
+				"TRAŬE"), StandardCharsets.UTF_8);
+		assertLoadFails("is out of date with");
+
+		// THE GAME FALLS BACK TO THE EDITED WORD LIST
+		HangManGameStateManager gsm = new HangManGameStateManager();
+		HangManBinaryDictionary.loadWordList(gsm, TEXT_FILE);
+		assertEquals(3, gsm.getCandidateIndex().getNumWords());
+	}
+
+	@Test
+	public void testTouchedWordListIsRejected() throws IOException {
+		HangManDictionaryCompiler.compile(textFile);
+		assertTrue(textFile.setLastModified(textFile.lastModified() - 60000));
+		assertLoadFails("is out of date with");
+	}
+
+	@Test
+	public void testDamagedDictionaryIsRejected() throws IOException {
+		File binaryFile = HangManDictionaryCompiler.compile(textFile);
+		try (RandomAccessFile file = new RandomAccessFile(binaryFile, "rw")) {
+			file.seek(file.length() - 1);
+			int last = file.read();
+			file.seek(file.length() - 1);
+			file.write(last ^ 0xFF);
+		}
+		assertLoadFails("fails its checksum");
+
+		// THE GAME FALLS BACK TO THE WORD LIST
+		HangManGameStateManager gsm = new HangManGameStateManager();
+		HangManBinaryDictionary.loadWordList(gsm, TEXT_FILE);
+		assertEquals(3, gsm.getCandidateIndex().getNumWords());
+	}
+
+	/*
+	 * Checks that loading the compiled dictionary fails for the given reason.
+	 */
+	private static void assertLoadFails(String reason) {
+		try {
+			HangManBinaryDictionary.load(BINARY_FILE, TEXT_FILE);
+			fail("loaded a dictionary that " + reason);
+		} catch (IOException ioe) {
+			assertTrue(ioe.getMessage(), ioe.getMessage().contains(reason));
+		}
+	}
+}
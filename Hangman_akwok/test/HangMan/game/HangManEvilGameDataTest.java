@@ -0,0 +1,111 @@
+package HangMan.game;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+/**
+ * Plays evil games over a few Esperanto words, whose letters like 'Ĉ' and 'Ŭ'
+ * are outside 'A' through 'Z', to check that they narrow the candidates like
+ * any other letter and that the secret word never contradicts what has been
+ * shown.
+ */
+public class HangManEvilGameDataTest {
+	// WORDS THAT ONLY DIFFER BY THEIR FIRST LETTER, MOSTLY ACCENTED ONES
+	private static final List<String> WORDS = Arrays.asList("ĈEVAL", "ĜEVAL",
+			"ĤEVAL", "ĴEVAL", "ŜEVAL", "KEVAL");
+
+	// WORDS WITH 'Ŭ' AT DIFFERENT POSITIONS, OR NOT AT ALL
+	private static final List<String> U_WORDS = Arrays.asList("AŬTOR",
+			"TRAŬE", "ŬRBON", "KANTO", "POREM");
+
+	@Test
+	public void testAccentedLettersHaveColumns() {
+		HangManCandidateIndex index = new HangManCandidateIndex(WORDS);
+		assertEquals(WORDS.size(), index.getNumWords());
+		assertEquals(0, index.getLetterColumn('A'));
+		for (char letter : "ĈĜĤĴŜ".toCharArray()) {
+			int column = index.getLetterColumn(letter);
+			assertTrue(column >= HangManGameData.ALPHABET_SIZE);
+			assertEquals(letter, index.getLetter(column));
+		}
+		assertEquals(-1, index.getLetterColumn('Ŭ'));
+	}
+
+	@Test
+	public void testAccentedGuessesMissWhileTheyCan() {
+		HangManCandidateIndex index = new HangManCandidateIndex(WORDS);
+		HangManEvilGameData game = newGame(index);
+		for (char letter : "EVAL".toCharArray())
+			play(game, letter);
+		for (char letter : "ĈĜĤĴŜ".toCharArray()) {
+			assertFalse(game.isRightGuess(letter));
+			assertFalse(play(game, letter));
+		}
+		assertEquals(1, game.getNumCandidates());
+		assertEquals("KEVAL", game.getSecretWord());
+		assertTrue(play(game, 'K'));
+		assertTrue(game.isWordFound());
+	}
+
+	@Test
+	public void testSecretWordAgreesWithEveryGuess() {
+		HangManCandidateIndex index = new HangManCandidateIndex(U_WORDS);
+		for (String guesses : new String[] { "ŬAOTR", "ŬRKE", "TŬA",
+				"EŬOKNRTABMP" }) {
+			HangManEvilGameData game = newGame(index);
+			StringBuilder guessed = new StringBuilder();
+			for (char letter : guesses.toCharArray()) {
+				if (game.isWordFound())
+					break;
+				boolean expected = game.isRightGuess(letter);
+				assertEquals(expected, play(game, letter));
+				guessed.append(letter);
+				assertConsistent(game, guessed.toString());
+			}
+		}
+	}
+
+	/*
+	 * Starts a game over every candidate of the first word's length.
+	 */
+	private static HangManEvilGameData newGame(HangManCandidateIndex index) {
+		return new HangManEvilGameData(index, index.getWordsOfLength(index
+				.getWord(0).length()));
+	}
+
+	/*
+	 * Guesses a letter the way the game state manager does.
+	 */
+	private static boolean play(HangManEvilGameData game, char letter) {
+		int wrongTimes = game.getWrongTimes();
+		game.guess("", String.valueOf(letter));
+		return game.getWrongTimes() == wrongTimes;
+	}
+
+	/*
+	 * Checks that the secret word shows exactly the guessed letters, and that
+	 * every guessed letter it doesn't have was counted as a miss.
+	 */
+	private static void assertConsistent(HangManEvilGameData game,
+			String guessed) {
+		String secretWord = game.getSecretWord();
+		char[] masked = game.renderMaskedWord();
+		int misses = 0;
+		for (int i = 0; i < secretWord.length(); i++) {
+			boolean shown = guessed.indexOf(secretWord.charAt(i)) >= 0;
+			assertEquals(shown ? secretWord.charAt(i)
+					: HangManGameData.HIDDEN_LETTER, masked[i]);
+		}
+		for (int i = 0; i < guessed.length(); i++) {
+			if (secretWord.indexOf(guessed.charAt(i)) < 0)
+				misses++;
+		}
+		assertEquals(misses, game.getWrongTimes());
+	}
+}
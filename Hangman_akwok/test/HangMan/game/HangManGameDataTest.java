@@ -0,0 +1,33 @@
+package HangMan.game;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+/**
+ * Checks that a game's masked word, whether rendered into its buffer or asked
+ * for as a String, always shows every letter revealed so far, whichever of the
+ * two is asked for first.
+ */
+public class HangManGameDataTest {
+	@Test
+	public void testNewGuessAfterRenderingTheBuffer() {
+		HangManGameData game = new HangManGameData("CRANE");
+		assertEquals("_____", game.getNewGuess());
+		assertTrue(game.guess('A'));
+		assertEquals("__A__", new String(game.renderMaskedWord()));
+		assertEquals("__A__", game.getNewGuess());
+		assertTrue(game.guess('E'));
+		assertEquals("__A_E", new String(game.renderMaskedWord()));
+		assertEquals("__A_E", game.getNewGuess());
+	}
+
+	@Test
+	public void testRenderingTheBufferAfterNewGuess() {
+		HangManGameData game = new HangManGameData("CRANE");
+		assertTrue(game.guess('R'));
+		assertEquals("_R___", game.getNewGuess());
+		assertEquals("_R___", new String(game.renderMaskedWord()));
+	}
+}
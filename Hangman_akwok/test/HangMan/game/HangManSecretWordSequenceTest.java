@@ -0,0 +1,77 @@
+package HangMan.game;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.SplittableRandom;
+
+import org.junit.Test;
+
+/**
+ * Checks that a secret word sequence picks every word of its pool exactly once
+ * per order, for pools of sizes the Feistel network and its cycle walking
+ * could get wrong, and again once it has been keyed for a new order.
+ */
+public class HangManSecretWordSequenceTest {
+	// ONE WORD, TWO, ODD, A POWER OF FOUR, ONE PAST IT SO NEARLY EVERY
+	// NUMBER IS WALKED BACK INTO THE POOL, AND THE ENGLISH CANDIDATES
+	private static final int[] SIZES = { 1, 2, 7, 256, 257, 3834 };
+
+	// EACH SIZE IS TRIED WITH A FEW DIFFERENT KEYS
+	private static final long[] SEEDS = { 1, 42, 20151031 };
+
+	@Test
+	public void testEveryOrderIsAPermutation() {
+		for (int size : SIZES) {
+			for (long seed : SEEDS) {
+				HangManSecretWordSequence sequence = new HangManSecretWordSequence(
+						size, new SplittableRandom(seed));
+				assertPermutation(sequence, size);
+				assertPermutation(sequence, size);
+			}
+		}
+	}
+
+	@Test
+	public void testRemainingCountsDown() {
+		HangManSecretWordSequence sequence = new HangManSecretWordSequence(7,
+				new SplittableRandom(1));
+		for (int picked = 0; picked < 7; picked++) {
+			assertEquals(7 - picked, sequence.getRemaining());
+			sequence.next();
+		}
+		assertEquals(0, sequence.getRemaining());
+		sequence.next();
+		assertEquals(6, sequence.getRemaining());
+	}
+
+	@Test
+	public void testBadSizesAreRejected() {
+		for (int size : new int[] { 0, -1, HangManSecretWordSequence.MAX_SIZE + 1 }) {
+			try {
+				new HangManSecretWordSequence(size, new SplittableRandom(1));
+				fail("size " + size + " was accepted");
+			} catch (IllegalArgumentException iae) {
+				// EXPECTED
+			}
+		}
+	}
+
+	/*
+	 * Picks a whole order from the sequence, checking each word is in the
+	 * pool and comes up once.
+	 */
+	private static void assertPermutation(HangManSecretWordSequence sequence,
+			int size) {
+		boolean[] picked = new boolean[size];
+		for (int i = 0; i < size; i++) {
+			int next = sequence.next();
+			assertTrue("size " + size + " picked " + next, next >= 0
+					&& next < size);
+			assertTrue("size " + size + " picked " + next + " twice",
+					!picked[next]);
+			picked[next] = true;
+		}
+	}
+}
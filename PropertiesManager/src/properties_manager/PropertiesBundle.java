@@ -0,0 +1,143 @@
+package properties_manager;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A PropertiesBundle is an unchanging set of properties and property options
+ * lists, for example everything loaded for one language. Since a bundle never
+ * changes it may be shared and read by any number of threads without locking,
+ * so on a server each player can simply hold on to the bundle for their own
+ * language:
+ *
+ * PropertiesBundle props =
+ *      PropertiesManager.getPropertiesManager().getLanguageBundle(xmlFile, xsdFile);
+ *
+ * Changing properties is done by building a new bundle with merge or with.
+ */
+public final class PropertiesBundle
+{
+    // AN EMPTY BUNDLE TO START FROM
+    static final PropertiesBundle EMPTY = new PropertiesBundle(
+            new HashMap<String, String>(), new HashMap<String, List<String>>());
+
+    // THE PROPERTIES, WHICH ARE NEVER CHANGED ONCE THE BUNDLE IS BUILT
+    private final Map<String, String> properties;
+
+    // THE PROPERTY OPTIONS LISTS, ALL UNMODIFIABLE
+    private final Map<String, List<String>> propertyOptionsLists;
+
+    // THE MOST RECENT ENUM-INDEXED VIEW OF THIS BUNDLE. SINCE THE BUNDLE
+    // NEVER CHANGES, TWO THREADS RACING TO BUILD IT IS HARMLESS
+    private volatile PropertiesSnapshot<?> snapshot;
+
+    /*
+     * Note that the maps become owned by this bundle, so they must not be
+     * changed by the caller afterwards.
+     */
+    PropertiesBundle(Map<String, String> initProperties,
+            Map<String, List<String>> initPropertyOptionsLists)
+    {
+        properties = initProperties;
+        propertyOptionsLists = initPropertyOptionsLists;
+    }
+
+    /**
+     * Accessor method for getting a property from this bundle.
+     *
+     * @param propType The key for getting a property.
+     *
+     * @return The value associated with the key.
+     */
+    public String getProperty(Object propType)
+    {
+        return properties.get(propType.toString());
+    }
+
+    /**
+     * Accessor method for getting a property options list from this bundle.
+     *
+     * @param property The key for accessing the property options list.
+     *
+     * @return The unmodifiable property options list associated with the key.
+     */
+    public List<String> getPropertyOptionsList(Object property)
+    {
+        return propertyOptionsLists.get(property.toString());
+    }
+
+    /**
+     * Accessor method for an enum-indexed view of this bundle. The same
+     * snapshot is returned each time it is asked for with the same type.
+     *
+     * @param propertyType The application's property type enum.
+     *
+     * @return The snapshot of this bundle.
+     */
+    public <E extends Enum<E>> PropertiesSnapshot<E> getSnapshot(Class<E> propertyType)
+    {
+        PropertiesSnapshot<?> current = snapshot;
+        if ((current == null) || (current.getPropertyType() != propertyType))
+        {
+            current = new PropertiesSnapshot<E>(propertyType, properties, propertyOptionsLists);
+            snapshot = current;
+        }
+        // THE SNAPSHOT'S TYPE IS propertyType, IT WAS JUST CHECKED OR MADE SO
+        @SuppressWarnings("unchecked")
+        PropertiesSnapshot<E> typedSnapshot = (PropertiesSnapshot<E>)current;
+        return typedSnapshot;
+    }
+
+    /**
+     * Builds a new bundle with all of this bundle's properties, plus all of
+     * the overrides bundle's, which win wherever both have the same key.
+     *
+     * @param overrides The bundle whose properties should be added.
+     *
+     * @return The combined bundle.
+     */
+    public PropertiesBundle merge(PropertiesBundle overrides)
+    {
+        HashMap<String, String> newProperties = new HashMap<String, String>(properties);
+        newProperties.putAll(overrides.properties);
+        HashMap<String, List<String>> newPropertyOptionsLists =
+                new HashMap<String, List<String>>(propertyOptionsLists);
+        newPropertyOptionsLists.putAll(overrides.propertyOptionsLists);
+        return new PropertiesBundle(newProperties, newPropertyOptionsLists);
+    }
+
+    /**
+     * Builds a new bundle with all of this bundle's properties and the
+     * (property, value) tuple.
+     *
+     * @param property Key, i.e. property type for this pair.
+     *
+     * @param value The data for this pair.
+     *
+     * @return The new bundle.
+     */
+    public PropertiesBundle with(Object property, String value)
+    {
+        HashMap<String, String> newProperties = new HashMap<String, String>(properties);
+        newProperties.put(property.toString(), value);
+        return new PropertiesBundle(newProperties, propertyOptionsLists);
+    }
+
+    /*
+     * Builds a bundle from freshly loaded properties, locking down the
+     * options lists as we go.
+     */
+    static PropertiesBundle fromLoaded(HashMap<String, String> loadedProperties,
+            HashMap<String, ArrayList<String>> loadedPropertyOptionsLists)
+    {
+        HashMap<String, List<String>> lockedLists = new HashMap<String, List<String>>();
+        for (Map.Entry<String, ArrayList<String>> entry : loadedPropertyOptionsLists.entrySet())
+        {
+            lockedLists.put(entry.getKey(), Collections.unmodifiableList(entry.getValue()));
+        }
+        return new PropertiesBundle(loadedProperties, lockedLists);
+    }
+}
@@ -1,10 +1,18 @@
 package properties_manager;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.HashMap;
-import org.w3c.dom.Document;
-import org.w3c.dom.NamedNodeMap;
-import org.w3c.dom.Node;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
 import xml_utilities.InvalidXMLFileFormatException;
 import xml_utilities.XMLUtilities;
 
@@ -20,22 +28,37 @@ import xml_utilities.XMLUtilities;
  * the getProperty method. Note that the properties_schema.xsd file
  * specifies how these files are to be constructed.
  * 
+ * The properties are kept in an unchanging PropertiesBundle that is
+ * replaced, never changed, whenever properties are added or loaded, so
+ * they may be read from any thread without locking. Each file is only
+ * ever parsed once, and applications serving players in several
+ * languages at once can give each player their own language bundle
+ * using getLanguageBundle.
+ * 
  * @author Richard McKenna
  */
 public class PropertiesManager
 {    
-    // THIS CLASS IS A SINGLETON, AND HERE IS THE ONLY OBJECT
-    private static PropertiesManager singleton = null;
+    // THIS CLASS IS A SINGLETON, AND HERE IS THE ONLY OBJECT. IT IS MADE
+    // WHEN THE CLASS IS LOADED SO THAT GETTING IT NEVER NEEDS A LOCK
+    private static final PropertiesManager singleton = new PropertiesManager();
 
-    // WE'LL STORE PROPERTIES HERE
-    private HashMap<String, String> properties;
+    // ALL THE PROPERTIES CURRENTLY LOADED. ADDING OR LOADING PROPERTIES
+    // BUILDS A NEW BUNDLE AND SWAPS IT IN, SO READERS NEVER NEED A LOCK
+    private volatile PropertiesBundle properties;
+    
+    // EVERY FILE WE'VE LOADED AND VALIDATED, SO NONE IS PARSED TWICE
+    private ConcurrentHashMap<String, PropertiesBundle> fileBundles;
     
-    // LISTS OF PROPERTY OPTIONS CAN BE STORED HERE
-    private HashMap<String, ArrayList<String>> propertyOptionsLists;
+    // EVERY LANGUAGE BUNDLE HANDED OUT BY getLanguageBundle
+    private ConcurrentHashMap<String, PropertiesBundle> languageBundles;
     
-    // THIS WILL LOAD THE XML FOR US
+    // THIS WILL VALIDATE THE XML FOR US
     private XMLUtilities xmlUtil;
     
+    // AND THIS WILL STREAM THROUGH IT AS WE LOAD IT
+    private XMLInputFactory xmlInputFactory;
+    
     // THESE CONSTANTS ARE USED FOR LOADING PROPERTIES AS THEY ARE
     // THE ESSENTIAL ELEMENTS AND ATTRIBUTES
     public static final String PROPERTY_ELEMENT                 = "property";
@@ -52,9 +75,11 @@ public class PropertiesManager
      */
     private PropertiesManager() 
     {
-        properties = new HashMap();
-        propertyOptionsLists = new HashMap();
+        properties = PropertiesBundle.EMPTY;
+        fileBundles = new ConcurrentHashMap<String, PropertiesBundle>();
+        languageBundles = new ConcurrentHashMap<String, PropertiesBundle>();
         xmlUtil = new XMLUtilities();
+        xmlInputFactory = XMLInputFactory.newInstance();
     }
 
     /**
@@ -64,14 +89,6 @@ public class PropertiesManager
      */
     public static PropertiesManager getPropertiesManager()
     {
-        // IF IT'S NEVER BEEN RETRIEVED BEFORE THEN
-        // FIRST WE MUST CONSTRUCT IT
-        if (singleton == null)
-        {
-            // WE CAN CALL THE PRIVATE CONSTRCTOR FROM WITHIN THE CLASS
-            singleton = new PropertiesManager();
-        }
-        // RETURN THE SINGLETON
         return singleton;
     }
 
@@ -83,10 +100,9 @@ public class PropertiesManager
      * 
      * @param value The data for this pair.
      */
-    public void addProperty(Object property, String value)
+    public synchronized void addProperty(Object property, String value)
     {
-        String propName = property.toString();
-        properties.put(propName, value);
+        properties = properties.with(property, value);
     }
  
     /**
@@ -98,8 +114,23 @@ public class PropertiesManager
      */
     public String getProperty(Object propType)
     {
-        String propName = propType.toString();
-        return properties.get(propName);
+        return properties.getProperty(propType);
+    }
+
+    /**
+     * Accessor method for getting an unchanging copy of all the properties
+     * named by propertyType's constants, indexed by those constants. This
+     * is the fastest way to look up properties, so it should be used
+     * wherever they are looked up often. The same snapshot is returned
+     * until the properties change, at which point a new one is taken.
+     * 
+     * @param propertyType The application's property type enum.
+     * 
+     * @return The current snapshot of the properties.
+     */
+    public <E extends Enum<E>> PropertiesSnapshot<E> getSnapshot(Class<E> propertyType)
+    {
+        return properties.getSnapshot(propertyType);
     }
 
     /**
@@ -108,12 +139,22 @@ public class PropertiesManager
      * 
      * @param property The key for accessing the property options list.
      * 
-     * @return The property options list associated with the key.
+     * @return The unmodifiable property options list associated with the key.
      */
-    public ArrayList<String> getPropertyOptionsList(Object property)
+    public List<String> getPropertyOptionsList(Object property)
     {
-        String propName = property.toString();
-        return propertyOptionsLists.get(propName);
+        return properties.getPropertyOptionsList(property);
+    }
+
+    /**
+     * Accessor method for all the properties currently loaded, as a bundle
+     * that will not change even as more properties are loaded.
+     * 
+     * @return The current properties.
+     */
+    public PropertiesBundle getBundle()
+    {
+        return properties;
     }
 
     /**
@@ -131,49 +172,219 @@ public class PropertiesManager
     public void loadProperties(String xmlDataFile, String xmlSchemaFile)
             throws InvalidXMLFileFormatException
     {
+        loadProperties(xmlDataFile, xmlSchemaFile, true);
+    }
+
+    /**
+     * This function loads the xmlDataFile in this property manager. If
+     * asked to, the file is first checked against the xmlSchemaFile. Note
+     * that each file is only parsed the first time it is loaded.
+     * 
+     * @param xmlDataFile XML document to load.
+     * 
+     * @param xmlSchemaFile Schema that the XML document should conform to.
+     * 
+     * @param validate true if the document should be validated against the
+     * schema before loading, false if it is trusted.
+     * 
+     * @throws InvalidXMLFileFormatException This is thrown if the XML file
+     * is invalid.
+     */
+    public void loadProperties(String xmlDataFile, String xmlSchemaFile, boolean validate)
+            throws InvalidXMLFileFormatException
+    {
+        PropertiesBundle fileBundle = loadFileBundle(xmlDataFile, xmlSchemaFile, validate);
+        
+        // SWAP IN THE NEWLY LOADED PROPERTIES ALL AT ONCE
+        synchronized (this)
+        {
+            properties = properties.merge(fileBundle);
+        }
+    }
+
+    /**
+     * Gets the bundle for one language, which holds all the properties
+     * currently loaded with the language file's properties over them. The
+     * bundle is built the first time a language is asked for and the same
+     * one is returned from then on, so this should be called once the
+     * application-wide properties have been loaded. Note that unlike
+     * loadProperties, this does not change this manager's properties.
+     * 
+     * @param xmlDataFile XML document for the language.
+     * 
+     * @param xmlSchemaFile Schema that the XML document should conform to.
+     * 
+     * @return The language's bundle.
+     * 
+     * @throws InvalidXMLFileFormatException This is thrown if the XML file
+     * is invalid.
+     */
+    public PropertiesBundle getLanguageBundle(String xmlDataFile, String xmlSchemaFile)
+            throws InvalidXMLFileFormatException
+    {
+        PropertiesBundle languageBundle = languageBundles.get(xmlDataFile);
+        if (languageBundle == null)
+        {
+            PropertiesBundle fileBundle = loadFileBundle(xmlDataFile, xmlSchemaFile, true);
+            languageBundle = properties.merge(fileBundle);
+            PropertiesBundle raced = languageBundles.putIfAbsent(xmlDataFile, languageBundle);
+            if (raced != null)
+            {
+                languageBundle = raced;
+            }
+        }
+        return languageBundle;
+    }
+
+    /**
+     * Tests to see if an XML document has already been read and validated,
+     * in which case loading it again won't go to the disk.
+     * 
+     * @param xmlDataFile XML document, without the data path.
+     * 
+     * @return true if the document's properties are remembered, false
+     * otherwise.
+     */
+    public boolean isFileLoaded(String xmlDataFile)
+    {
+        return fileBundles.containsKey(getProperty(DATA_PATH_PROPERTY) + xmlDataFile);
+    }
+
+    /**
+     * Forgets every file and language bundle loaded so far, so that they
+     * will be read again the next time they are loaded, for example after
+     * the files have been edited. The properties currently in this manager
+     * are kept.
+     */
+    public void clearBundleCache()
+    {
+        fileBundles.clear();
+        languageBundles.clear();
+    }
 
+    /*
+     * Gets the bundle of just the properties in the xmlDataFile, parsing it
+     * only if it hasn't been already. Only validated files are remembered,
+     * so a trusted load can use a validated file but not the other way round.
+     */
+    private PropertiesBundle loadFileBundle(String xmlDataFile, String xmlSchemaFile, boolean validate)
+            throws InvalidXMLFileFormatException
+    {
         String dataPath = getProperty(DATA_PATH_PROPERTY);
  
         // ADD THE DATA PATH
         xmlDataFile = dataPath + xmlDataFile;
         xmlSchemaFile = dataPath + xmlSchemaFile;
         
-        // FIRST LOAD THE FILE
-        Document doc = xmlUtil.loadXMLDocument(xmlDataFile, xmlSchemaFile);
+        PropertiesBundle fileBundle = fileBundles.get(xmlDataFile);
+        if (fileBundle != null)
+        {
+            return fileBundle;
+        }
         
-        // NOW LOAD ALL THE PROPERTIES
-        Node propertyListNode = xmlUtil.getNodeWithName(doc, PROPERTY_LIST_ELEMENT);
-        ArrayList<Node> propNodes = xmlUtil.getChildNodesWithName(propertyListNode, PROPERTY_ELEMENT);
-        for(Node n : propNodes)
+        // READ THE FILE JUST ONCE, BOTH VALIDATING AND PARSING USE THE
+        // SAME BYTES. NOTE THAT THEY'RE STILL TWO PASSES OVER THEM, BUT
+        // PROPERTIES FILES ARE SMALL AND IT'S THE DISK THAT'S SLOW
+        byte[] xmlData;
+        try
         {
-            NamedNodeMap attributes = n.getAttributes();
-            for (int i = 0; i < attributes.getLength(); i++)
-            {
-                Node att = attributes.getNamedItem(NAME_ATT);
-                String attName = attributes.getNamedItem(NAME_ATT).getTextContent();
-                String attValue = attributes.getNamedItem(VALUE_ATT).getTextContent();
-                properties.put(attName, attValue);
-            }
+            xmlData = Files.readAllBytes(Paths.get(xmlDataFile));
+        }
+        catch (IOException ioe)
+        {
+            throw new InvalidXMLFileFormatException(xmlDataFile);
         }
         
-        // AND THE PROPERTIES FROM OPTION LISTS
-        Node propertyOptionsListNode = xmlUtil.getNodeWithName(doc, PROPERTY_OPTIONS_LIST_ELEMENT);
-        if (propertyOptionsListNode != null)
+        // FIRST MAKE SURE THE FILE IS VALID
+        if (validate && !xmlUtil.validateXMLDoc(xmlData, xmlDataFile, xmlSchemaFile))
         {
-            ArrayList<Node> propertyOptionsNodes = xmlUtil.getChildNodesWithName(propertyOptionsListNode, PROPERTY_OPTIONS_ELEMENT);
-            for (Node n : propertyOptionsNodes)
+            throw new InvalidXMLFileFormatException(xmlDataFile, xmlSchemaFile);
+        }
+        
+        fileBundle = parseProperties(xmlDataFile, xmlData);
+        if (validate)
+        {
+            fileBundles.put(xmlDataFile, fileBundle);
+        }
+        return fileBundle;
+    }
+
+    /*
+     * Streams through the xmlDataFile's contents once, putting each property
+     * and property option straight into a new bundle as it is read, so no
+     * DOM tree is ever built.
+     */
+    private PropertiesBundle parseProperties(String xmlDataFile, byte[] xmlData)
+            throws InvalidXMLFileFormatException
+    {
+        HashMap<String, String> newProperties = new HashMap<String, String>();
+        HashMap<String, ArrayList<String>> newPropertyOptionsLists = new HashMap<String, ArrayList<String>>();
+        
+        // LOAD ALL THE PROPERTIES AND PROPERTY OPTIONS IN ONE PASS
+        XMLStreamReader reader = null;
+        try (InputStream in = new ByteArrayInputStream(xmlData))
+        {
+            reader = xmlInputFactory.createXMLStreamReader(in);
+            
+            // THE OPTIONS LIST WE'RE CURRENTLY ADDING OPTIONS TO
+            ArrayList<String> options = null;
+            while (reader.hasNext())
             {
-                NamedNodeMap attributes = n.getAttributes();
-                String name = attributes.getNamedItem(NAME_ATT).getNodeValue();
-                ArrayList<String> options = new ArrayList();
-                propertyOptionsLists.put(name, options);
-                ArrayList<Node> optionsNodes = xmlUtil.getChildNodesWithName(n, OPTION_ELEMENT);
-                for (Node oNode : optionsNodes)
+                if (reader.next() != XMLStreamConstants.START_ELEMENT)
+                {
+                    continue;
+                }
+                String element = reader.getLocalName();
+                if (PROPERTY_ELEMENT.equals(element))
                 {
-                    String option = oNode.getTextContent();
+                    String attName = reader.getAttributeValue(null, NAME_ATT);
+                    String attValue = reader.getAttributeValue(null, VALUE_ATT);
+                    newProperties.put(attName, attValue);
+                }
+                else if (PROPERTY_OPTIONS_ELEMENT.equals(element))
+                {
+                    String name = reader.getAttributeValue(null, NAME_ATT);
+                    options = new ArrayList<String>();
+                    newPropertyOptionsLists.put(name, options);
+                }
+                else if (OPTION_ELEMENT.equals(element) && (options != null))
+                {
+                    String option = reader.getElementText();
                     options.add(option);
                 }
             }
         }
+        // THESE ARE XML-RELATED ERRORS THAT COULD HAPPEN DURING
+        // LOADING IF THE XML FILE IS NOT WELL FORMED OR IS NOT
+        // WHERE WE SAY IT IS
+        catch (XMLStreamException | IOException e)
+        {
+            throw new InvalidXMLFileFormatException(xmlDataFile);
+        }
+        finally
+        {
+            closeQuietly(reader);
+        }
+        
+        return PropertiesBundle.fromLoaded(newProperties, newPropertyOptionsLists);
+    }
+    
+    /*
+     * Closes the reader if there is one, ignoring any problem doing so
+     * since we're done with it either way.
+     */
+    private void closeQuietly(XMLStreamReader reader)
+    {
+        if (reader != null)
+        {
+            try
+            {
+                reader.close();
+            }
+            catch (XMLStreamException xse)
+            {
+                // NOTHING LEFT TO READ ANYWAY
+            }
+        }
     }
 }
\ No newline at end of file
@@ -0,0 +1,95 @@
+package properties_manager;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * This class is an unchanging copy of the properties in a PropertiesManager,
+ * indexed by the constants of an application's property type enum rather than
+ * by String. Looking up a property is then just an array access, with no
+ * toString or hashing, and since a snapshot never changes it may be read by
+ * any number of threads at once. To get the current snapshot, use:
+ *
+ * PropertiesSnapshot<MyPropertyType> props =
+ *      PropertiesManager.getPropertiesManager().getSnapshot(MyPropertyType.class);
+ *
+ * Note that a snapshot does not see properties loaded after it was taken, so
+ * get a new one from the manager rather than holding on to it.
+ */
+public final class PropertiesSnapshot<E extends Enum<E>>
+{
+    // THE ENUM WHOSE CONSTANTS INDEX THIS SNAPSHOT
+    private final Class<E> propertyType;
+
+    // THE PROPERTY VALUES, INDEXED BY ORDINAL
+    private final String[] properties;
+
+    // THE PROPERTY OPTIONS LISTS, INDEXED BY ORDINAL
+    private final List<String>[] propertyOptionsLists;
+
+    /**
+     * Copies all the properties named by propertyType's constants out of
+     * the properties maps. Properties not named by a constant are left out.
+     *
+     * @param initPropertyType The enum whose constants name the properties.
+     *
+     * @param initProperties The property values, keyed by name.
+     *
+     * @param initPropertyOptionsLists The unmodifiable property options
+     * lists, keyed by name.
+     */
+    PropertiesSnapshot(Class<E> initPropertyType,
+            Map<String, String> initProperties,
+            Map<String, List<String>> initPropertyOptionsLists)
+    {
+        propertyType = initPropertyType;
+        E[] constants = initPropertyType.getEnumConstants();
+        properties = new String[constants.length];
+        // THERE'S NO MAKING AN ARRAY OF List<String>, BUT ONLY THOSE GO IN IT
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        List<String>[] optionsLists = new List[constants.length];
+        propertyOptionsLists = optionsLists;
+        for (E constant : constants)
+        {
+            String propName = constant.toString();
+            properties[constant.ordinal()] = initProperties.get(propName);
+            // THE LISTS ARE ALREADY UNMODIFIABLE, SO THEY CAN BE SHARED
+            propertyOptionsLists[constant.ordinal()] = initPropertyOptionsLists.get(propName);
+        }
+    }
+
+    /**
+     * Accessor method for the enum whose constants index this snapshot.
+     *
+     * @return The property type enum class.
+     */
+    public Class<E> getPropertyType()
+    {
+        return propertyType;
+    }
+
+    /**
+     * Accessor method for getting a property from this snapshot.
+     *
+     * @param propType The key for getting a property.
+     *
+     * @return The value associated with the key, or null if there is none.
+     */
+    public String getProperty(E propType)
+    {
+        return properties[propType.ordinal()];
+    }
+
+    /**
+     * Accessor method for getting a property options list from this snapshot.
+     *
+     * @param propType The key for accessing the property options list.
+     *
+     * @return The unmodifiable property options list associated with the key,
+     * or null if there is none.
+     */
+    public List<String> getPropertyOptionsList(E propType)
+    {
+        return propertyOptionsLists[propType.ordinal()];
+    }
+}
@@ -1,8 +1,10 @@
 package xml_utilities;
 
+import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.zip.ZipFile;
 import javax.xml.parsers.DocumentBuilder;
 import javax.xml.parsers.DocumentBuilderFactory;
@@ -15,7 +17,9 @@ import javax.xml.validation.Validator;
 import org.w3c.dom.Document;
 import org.w3c.dom.Node;
 import org.w3c.dom.NodeList;
+import org.xml.sax.ErrorHandler;
 import org.xml.sax.SAXException;
+import org.xml.sax.SAXParseException;
 
 /**
  * This class provides general purpose utilities for the loading and
@@ -34,6 +38,31 @@ public class XMLUtilities
     // THIS REFERENCES A STANDARD SCHEMA FORMAT. NOTE THIS IS NOT THE SCHEMA
     public static final String SCHEMA_STANDARD_SPEC_URL = "http://www.w3.org/2001/XMLSchema";     
 
+    // COMPILED SCHEMAS ARE THREAD-SAFE, SO WE ONLY EVER COMPILE EACH
+    // SCHEMA FILE ONCE, OR AGAIN IF THE FILE CHANGES
+    private static final ConcurrentHashMap<String, CachedSchema> schemas
+            = new ConcurrentHashMap<String, CachedSchema>();
+    
+    // DURING A SINGLE PASS LOAD WE WANT VALIDATION ERRORS, NOT JUST
+    // FATAL ONES, TO STOP THE PARSE
+    private static final ErrorHandler STRICT_ERROR_HANDLER = new ErrorHandler()
+    {
+        @Override
+        public void warning(SAXParseException spe) {}
+
+        @Override
+        public void error(SAXParseException spe) throws SAXException
+        {
+            throw spe;
+        }
+
+        @Override
+        public void fatalError(SAXParseException spe) throws SAXException
+        {
+            throw spe;
+        }
+    };
+
     /**
      * Default Constructor, no data needs to be initialized.
      */
@@ -58,23 +87,48 @@ public class XMLUtilities
     {
         try
         {
-            // 1. Lookup a factory for the W3C XML Schema language
-            SchemaFactory factory = 
-                    SchemaFactory.newInstance(SCHEMA_STANDARD_SPEC_URL);
+            // 1. Get this thread's validator for the compiled schema,
+            // compiling the schema only if we've never seen it before
+            Validator validator = getValidator(xmlSchemaNameAndPath);
             
-            // 2. Compile the schema. 
-            // Here the schema is loaded from a java.io.File, but you could use 
-            // a java.net.URL or a javax.xml.transform.Source instead.
-            File schemaLocation = new File(xmlSchemaNameAndPath);
-            Schema schema = factory.newSchema(schemaLocation);
-            
-            // 3. Get a validator from the schema.
-            Validator validator = schema.newValidator();
-            
-            // 4. Parse the document you want to check.
+            // 2. Parse the document you want to check.
             Source source = new StreamSource(xmlDocNameAndPath);
             
-            // 5. Check the document
+            // 3. Check the document
+            validator.validate(source);
+            return true;
+        }
+        // FOR ANY EXCEPTION THAT OCCURS WE'LL BLAME
+        // IT ON AN INVALID XML FILE
+        catch (SAXException | IOException e) 
+        {
+            return false;
+        }          
+    }    
+    
+    /**
+     * This method validates an XML doc that has already been read into
+     * memory against the xmlSchemaNameAndPath schema, so that a caller who
+     * goes on to load the doc never has to read the file a second time.
+     * 
+     * @param xmlDoc The contents of the XML doc to validate.
+     * 
+     * @param xmlDocNameAndPath Where the XML doc was read from, used to
+     * resolve anything it refers to and to report errors.
+     * 
+     * @param xmlSchemaNameAndPath XML Schema to use in validation
+     * 
+     * @return true if the xml doc is validate, false if it does not.
+     */
+    public boolean validateXMLDoc(  byte[] xmlDoc,
+                                    String xmlDocNameAndPath,
+                                    String xmlSchemaNameAndPath)
+    {
+        try
+        {
+            Validator validator = getValidator(xmlSchemaNameAndPath);
+            Source source = new StreamSource(new ByteArrayInputStream(xmlDoc),
+                    new File(xmlDocNameAndPath).toURI().toString());
             validator.validate(source);
             return true;
         }
@@ -86,6 +140,87 @@ public class XMLUtilities
         }          
     }    
     
+    /**
+     * Gets the compiled schema for the xmlSchemaNameAndPath schema file,
+     * compiling it if it hasn't been already or if the file has changed
+     * since it was.
+     * 
+     * @param xmlSchemaNameAndPath XML Schema to compile.
+     * 
+     * @return The compiled schema, which may be shared by all threads.
+     * 
+     * @throws SAXException Thrown if the schema itself is invalid.
+     */
+    public Schema getSchema(String xmlSchemaNameAndPath) throws SAXException
+    {
+        return getCachedSchema(xmlSchemaNameAndPath).schema;
+    }
+    
+    /*
+     * Gets the cache entry for the schema file, compiling the schema if
+     * it isn't cached yet or the file has changed since it was.
+     */
+    private CachedSchema getCachedSchema(String xmlSchemaNameAndPath) throws SAXException
+    {
+        File schemaLocation = new File(xmlSchemaNameAndPath);
+        long lastModified = schemaLocation.lastModified();
+        CachedSchema cached = schemas.get(xmlSchemaNameAndPath);
+        if ((cached == null) || (cached.lastModified != lastModified))
+        {
+            // Lookup a factory for the W3C XML Schema language and
+            // compile the schema
+            SchemaFactory factory = 
+                    SchemaFactory.newInstance(SCHEMA_STANDARD_SPEC_URL);
+            cached = new CachedSchema(factory.newSchema(schemaLocation), lastModified);
+            schemas.put(xmlSchemaNameAndPath, cached);
+        }
+        return cached;
+    }
+    
+    /*
+     * Gets this thread's validator for the schema, making one if needed.
+     */
+    private Validator getValidator(String xmlSchemaNameAndPath) throws SAXException
+    {
+        CachedSchema cached = getCachedSchema(xmlSchemaNameAndPath);
+        Validator validator = cached.validators.get();
+        if (validator == null)
+        {
+            validator = cached.schema.newValidator();
+            cached.validators.set(validator);
+        }
+        else
+        {
+            validator.reset();
+        }
+        return validator;
+    }
+    
+    /*
+     * Gets this thread's document builder that validates against the schema
+     * as it parses, making one if needed.
+     */
+    private DocumentBuilder getValidatingBuilder(String xmlSchemaNameAndPath)
+            throws SAXException, ParserConfigurationException
+    {
+        CachedSchema cached = getCachedSchema(xmlSchemaNameAndPath);
+        DocumentBuilder db = cached.validatingBuilders.get();
+        if (db == null)
+        {
+            DocumentBuilderFactory dbf = DocumentBuilderFactory.newInstance();
+            dbf.setNamespaceAware(true);
+            dbf.setSchema(cached.schema);
+            db = dbf.newDocumentBuilder();
+            cached.validatingBuilders.set(db);
+        }
+        else
+        {
+            db.reset();
+        }
+        db.setErrorHandler(STRICT_ERROR_HANDLER);
+        return db;
+    }
+    
     /**
      * This method reads in the xmlFile, validates it against the
      * schemaFile, and if valid, loads it into a WhitespaceFreeXMLDoc
@@ -104,29 +239,35 @@ public class XMLUtilities
     public Document loadXMLDocument(String xmlFile, String xsdFile)
             throws InvalidXMLFileFormatException
     {
-        // FIRST VALIDATE
-        boolean isValid = validateXMLDoc(xmlFile, xsdFile);
-        if (!isValid)
+        // THE SCHEMA IS CHECKED WHILE THE FILE IS PARSED, SO
+        // WE ONLY HAVE TO READ IT ONCE
+        DocumentBuilder db;
+        try
+        {
+            db = getValidatingBuilder(xsdFile);
+        }
+        // THE SCHEMA ITSELF COULDN'T BE USED
+        catch(ParserConfigurationException | SAXException e)
         {
             throw new InvalidXMLFileFormatException(xmlFile, xsdFile);
         }
         
-        // THIS IS JAVA API STUFF
-        DocumentBuilderFactory dbf = DocumentBuilderFactory.newInstance();
         try
         {            
-            // FIRST RETRIEVE AND LOAD THE FILE INTO A TREE
-            DocumentBuilder db = dbf.newDocumentBuilder();
-            Document xmlDoc = db.parse(xmlFile);
+            // RETRIEVE AND LOAD THE FILE INTO A TREE
+            Document xmlDoc = db.parse(new File(xmlFile));
             xmlDoc.getDocumentElement().normalize();
            
             // LET'S RETURN THE DOC
             return xmlDoc;
         }
-        // THESE ARE XML-RELATED ERRORS THAT COULD HAPPEN DURING
-        // LOADING AND PARSING IF THE XML FILE IS NOT WELL FORMED
-        // OR IS NOW WHERE AND WHAT WE SAY IT IS
-        catch(ParserConfigurationException | SAXException | IOException pce)
+        // THE FILE IS NOT WELL FORMED OR DOES NOT VALIDATE
+        catch(SAXException se)
+        {
+            throw new InvalidXMLFileFormatException(xmlFile, xsdFile);
+        }
+        // OR IS NOT WHERE WE SAY IT IS
+        catch(IOException ioe)
         {
             throw new InvalidXMLFileFormatException(xmlFile);
         }           
@@ -359,6 +500,26 @@ public class XMLUtilities
         return null;
     }
 
+    /*
+     * A compiled schema along with the modification time of the
+     * file it was compiled from. Validators and document builders are
+     * not thread-safe, but they are reusable, so each thread keeps its
+     * own here for each schema.
+     */
+    private static class CachedSchema
+    {
+        final Schema schema;
+        final long lastModified;
+        final ThreadLocal<Validator> validators = new ThreadLocal<Validator>();
+        final ThreadLocal<DocumentBuilder> validatingBuilders = new ThreadLocal<DocumentBuilder>();
+        
+        CachedSchema(Schema initSchema, long initLastModified)
+        {
+            schema = initSchema;
+            lastModified = initLastModified;
+        }
+    }
+
     // WE COULD ADD LOTS AND LOTS OF ADDITIONAL SERVICE METHOD. METHODS
     // FOR EXTRACTING OTHER TYPES OF DATA, OR FOR MORE COMPLEX ARRANGEMENTS
     // LIKE SERIES OF DATA AND OBJECT DATA